@@ -0,0 +1,176 @@
+package com.online.store.blob;
+
+import com.online.store.image.HotImageCache;
+import com.online.store.repository.FileRepository;
+import com.online.store.repository.ImageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BlobCollector {
+
+    public static final String RECLAIMED_METRIC = "store.blob.gc.reclaimed";
+
+    @Value("${store.blob.gc.enabled:true}")
+    private boolean enabled;
+    @Value("${store.blob.gc.page-size:500}")
+    private int pageSize;
+    @Value("${store.blob.gc.grace-period:PT24H}")
+    private Duration gracePeriod;
+    @Value("${store.blob.gc.max-blobs-per-second:100}")
+    private int maxBlobsPerSecond;
+
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private FileRepository fileRepository;
+    @Autowired
+    private ImageRepository imageRepository;
+    @Autowired
+    private HotImageCache hotImageCache;
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final AtomicBoolean collectPending = new AtomicBoolean();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blob-collector");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Counter reclaimed;
+    private String cursor;
+    private long pageStarted;
+    private long visited;
+
+
+    @PostConstruct
+    public void init() {
+        if (meterRegistry != null) {
+            reclaimed = Counter.builder(RECLAIMED_METRIC)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${store.blob.gc.interval:PT1M}")
+    public void schedule() {
+        if (enabled && collectPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    collect();
+                } finally {
+                    collectPending.set(false);
+                }
+            });
+        }
+    }
+
+    public synchronized long collect() {
+        Instant threshold = Instant.now().minus(gracePeriod);
+        pageStarted = System.nanoTime();
+        visited = 0;
+        long bytes = 0;
+        try {
+            if (cursor == null) {
+                bytes += collectWorkspace(blobStore.getTemp(), threshold);
+                bytes += collectWorkspace(blobStore.getRoot().resolve(BlobUploads.UPLOADS), threshold);
+            }
+            List<String> digests = blobStore.list(cursor, pageSize);
+            cursor = digests.size() < pageSize ? null : digests.get(digests.size() - 1);
+            if (!digests.isEmpty()) {
+                Set<String> referenced = new HashSet<>(fileRepository.findDigests(digests));
+                referenced.addAll(imageRepository.findDigests(digests));
+                for (String digest : digests) {
+                    if (!referenced.contains(digest)) {
+                        pace();
+                        long deleted = blobStore.deleteIfOlder(digest, threshold);
+                        if (deleted > 0) {
+                            hotImageCache.invalidate(digest);
+                            bytes += deleted;
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not collect orphan blobs: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (bytes > 0) {
+            reclaimedBytes.addAndGet(bytes);
+            if (reclaimed != null) {
+                reclaimed.increment(bytes);
+            }
+            log.info("Reclaimed {} bytes of orphan blobs", bytes);
+        }
+        return bytes;
+    }
+
+    public long getReclaimedBytes() {
+        return reclaimedBytes.get();
+    }
+
+    private long collectWorkspace(Path directory, Instant threshold) throws IOException, InterruptedException {
+        long bytes = 0;
+        if (!Files.isDirectory(directory)) {
+            return bytes;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                pace();
+                long size = 0;
+                boolean stale = true;
+                try (Stream<Path> files = Files.walk(entry)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        stale &= Files.getLastModifiedTime(file).toInstant().isBefore(threshold);
+                        size += Files.isRegularFile(file) ? Files.size(file) : 0;
+                    }
+                }
+                if (stale && FileSystemUtils.deleteRecursively(entry)) {
+                    bytes += size;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private void pace() throws InterruptedException {
+        long due = pageStarted + TimeUnit.SECONDS.toNanos(visited++) / maxBlobsPerSecond;
+        long delay = due - System.nanoTime();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.online.store.blob;
+
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Path;
+
+public class BlobResource extends FileSystemResource {
+
+    private final String digest;
+    private final String name;
+
+    public BlobResource(Path path, String digest, String name) {
+        super(path);
+        this.digest = digest;
+        this.name = name;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public String getETag() {
+        return "\"" + digest + "\"";
+    }
+
+    @Override
+    public String getFilename() {
+        return name == null ? super.getFilename() : name;
+    }
+
+}
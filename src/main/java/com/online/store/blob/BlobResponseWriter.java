@@ -0,0 +1,131 @@
+package com.online.store.blob;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+public class BlobResponseWriter {
+
+    public static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    public static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    public static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    public static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String BYTES = "bytes";
+
+
+    public void write(Resource resource, ContentDisposition contentDisposition, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        CachedBlobResource cached = resource instanceof CachedBlobResource ? (CachedBlobResource) resource : null;
+        Path path = cached == null ? resource.getFile().toPath() : null;
+        long length = cached == null ? Files.size(path) : cached.contentLength();
+        long lastModified = cached == null ? Files.getLastModifiedTime(path).toMillis() : cached.lastModified();
+        String eTag = cached == null ? eTag(resource, length, lastModified) : cached.getETag();
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString());
+        response.setContentType(cached == null
+                ? MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM).toString()
+                : cached.getContentType());
+
+        long start = 0;
+        long end = length;
+        HttpRange range = range(request, eTag, lastModified);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start >= end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + (end - 1) + "/" + length);
+        }
+        response.setContentLengthLong(end - start);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || start == end) {
+            return;
+        }
+
+        if (cached != null) {
+            response.getOutputStream().write(cached.getByteArray(), (int) start, (int) (end - start));
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    private static String eTag(Resource resource, long length, long lastModified) {
+        if (resource instanceof BlobResource && ((BlobResource) resource).getDigest() != null) {
+            return ((BlobResource) resource).getETag();
+        }
+        return "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private static HttpRange range(HttpServletRequest request, String eTag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !isRangeCurrent(request, eTag, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static boolean isRangeCurrent(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return !eTag.startsWith("W/") && ifRange.equals(eTag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.online.store.blob;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static com.online.store.exception.FileStoreException.readFileException;
+
+@Slf4j
+@Component
+public class BlobStore {
+
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final Pattern DIGEST = Pattern.compile("[0-9a-f]{64}");
+    private static final int SHARD_LENGTH = 2;
+    private static final int SHARD_DEPTH = 2;
+    private static final String TEMP = "tmp";
+    private static final String VARIANT_SEPARATOR = "-";
+    private static final Pattern SHARD = Pattern.compile("[0-9a-f]{" + SHARD_LENGTH + "}");
+    private static final int LOCK_STRIPES = 64;
+
+    @Value("${store.blob.root:resources/blobs}")
+    private String rootPath;
+
+    private Path root;
+    private Path temp;
+    private final Object[] locks = IntStream.range(0, LOCK_STRIPES).mapToObj(i -> new Object()).toArray();
+
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootPath).toAbsolutePath().normalize();
+        temp = Files.createDirectories(root.resolve(TEMP));
+    }
+
+    public String put(InputStream inputStream) throws IOException {
+        MessageDigest messageDigest = newDigest();
+        Path upload = Files.createTempFile(temp, null, null);
+        try {
+            try (InputStream digestStream = new DigestInputStream(inputStream, messageDigest)) {
+                Files.copy(digestStream, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String digest = HexFormat.of().formatHex(messageDigest.digest());
+            store(upload, digest);
+            return digest;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    public String putFile(Path file) throws IOException {
+        MessageDigest messageDigest = newDigest();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), messageDigest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        String digest = HexFormat.of().formatHex(messageDigest.digest());
+        store(file, digest);
+        return digest;
+    }
+
+    public void putVariant(String digest, String variant, BlobWriter writer) throws IOException {
+        Path upload = Files.createTempFile(temp, null, null);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(upload)) {
+                writer.write(outputStream);
+            }
+            try {
+                Files.move(upload, resolve(digest, variant), StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Blob {} variant {} stored concurrently", digest, variant);
+            }
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Path getTemp() {
+        return temp;
+    }
+
+    public List<String> list(String after, int limit) throws IOException {
+        List<String> digests = new ArrayList<>(limit);
+        list(root, "", after, limit, digests);
+        return digests;
+    }
+
+    public long deleteIfOlder(String digest, Instant threshold) throws IOException {
+        Path blob = resolve(digest);
+        synchronized (lock(digest)) {
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> siblings = Files.newDirectoryStream(blob.getParent(), digest + "*")) {
+                for (Path file : siblings) {
+                    if (Files.getLastModifiedTime(file).toInstant().isAfter(threshold)) {
+                        return 0;
+                    }
+                    files.add(file);
+                }
+            } catch (NoSuchFileException e) {
+                return 0;
+            }
+            long bytes = 0;
+            for (Path file : files) {
+                bytes += Files.size(file);
+                Files.deleteIfExists(file);
+            }
+            return bytes;
+        }
+    }
+
+    public boolean exists(String digest) {
+        return Files.exists(resolve(digest));
+    }
+
+    public boolean exists(String digest, String variant) {
+        return Files.exists(resolve(digest, variant));
+    }
+
+    public Path resolve(String digest) {
+        if (digest == null || !DIGEST.matcher(digest).matches()) {
+            throw readFileException(" invalid blob digest " + digest);
+        }
+        Path shard = root;
+        for (int i = 0; i < SHARD_DEPTH; i++) {
+            shard = shard.resolve(digest.substring(i * SHARD_LENGTH, (i + 1) * SHARD_LENGTH));
+        }
+        return shard.resolve(digest);
+    }
+
+    public Path resolve(String digest, String variant) {
+        return resolve(digest).resolveSibling(getTag(digest, variant));
+    }
+
+    public Resource getResource(String digest, String name) {
+        return getResource(resolve(digest), digest, name);
+    }
+
+    public Resource getResource(String digest, String variant, String name) {
+        return getResource(resolve(digest, variant), getTag(digest, variant), name);
+    }
+
+    public static String getTag(String digest, String variant) {
+        return variant == null ? digest : digest + VARIANT_SEPARATOR + variant;
+    }
+
+    private void store(Path file, String digest) throws IOException {
+        Path blob = resolve(digest);
+        synchronized (lock(digest)) {
+            if (Files.exists(blob)) {
+                Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+                log.debug("Blob {} already stored", digest);
+                return;
+            }
+            Files.createDirectories(blob.getParent());
+            try {
+                Files.move(file, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Blob {} stored concurrently", digest);
+            }
+        }
+    }
+
+    private void list(Path directory, String prefix, String after, int limit, List<String> digests)
+            throws IOException {
+        if (prefix.length() == SHARD_LENGTH * SHARD_DEPTH) {
+            TreeSet<String> names = new TreeSet<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String digest = name.split(VARIANT_SEPARATOR, 2)[0];
+                    if (DIGEST.matcher(digest).matches() && (after == null || digest.compareTo(after) > 0)) {
+                        names.add(digest);
+                    }
+                }
+            }
+            for (String digest : names) {
+                if (digests.size() == limit) {
+                    return;
+                }
+                digests.add(digest);
+            }
+            return;
+        }
+        TreeSet<String> shards = new TreeSet<>();
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path child : children) {
+                String shard = prefix + child.getFileName();
+                if (SHARD.matcher(child.getFileName().toString()).matches()
+                        && (after == null || shard.compareTo(after.substring(0, shard.length())) >= 0)) {
+                    shards.add(child.getFileName().toString());
+                }
+            }
+        }
+        for (String shard : shards) {
+            if (digests.size() == limit) {
+                return;
+            }
+            list(directory.resolve(shard), prefix + shard, after, limit, digests);
+        }
+    }
+
+    private Object lock(String digest) {
+        return locks[Math.floorMod(digest.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Resource getResource(Path path, String tag, String name) {
+        BlobResource resource = new BlobResource(path, tag, name);
+        if (!resource.exists() || !resource.isReadable()) {
+            throw readFileException(" missing blob " + tag);
+        }
+        return resource;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BlobWriter {
+
+        void write(OutputStream outputStream) throws IOException;
+
+    }
+
+}
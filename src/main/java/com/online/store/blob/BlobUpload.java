@@ -0,0 +1,59 @@
+package com.online.store.blob;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class BlobUpload {
+
+    private final String id;
+    private final String name;
+    private final long size;
+    private final long chunkSize;
+    private final BitSet received;
+
+    public BlobUpload(String id, String name, long size, long chunkSize, BitSet received) {
+        this.id = id;
+        this.name = name;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.received = received;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunks() {
+        return (int) ((size + chunkSize - 1) / chunkSize);
+    }
+
+    public long getChunkLength(int index) {
+        return Math.min(chunkSize, size - index * chunkSize);
+    }
+
+    public List<Integer> getMissing() {
+        List<Integer> missing = new ArrayList<>();
+        for (int index = received.nextClearBit(0); index < getChunks(); index = received.nextClearBit(index + 1)) {
+            missing.add(index);
+        }
+        return missing;
+    }
+
+    public boolean isComplete() {
+        return received.cardinality() == getChunks();
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.online.store.blob;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static com.online.store.exception.FileStoreException.uploadException;
+import static com.online.store.exception.NotFoundException.notFoundException;
+
+@Slf4j
+@Component
+public class BlobUploads {
+
+    public static final String UPLOADS = "uploads";
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final String DATA = "data";
+    private static final String PARTS = "parts";
+    private static final String DESCRIPTOR = "upload.properties";
+    private static final String NAME = "name";
+    private static final String SIZE = "size";
+    private static final String CHUNK_SIZE = "chunkSize";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    @Value("${store.upload.chunk-size:8MB}")
+    private DataSize chunkSize;
+    @Value("${store.upload.max-size:2GB}")
+    private DataSize maxSize;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    private Path root;
+    private final ReadWriteLock[] locks = IntStream.range(0, LOCK_STRIPES)
+            .mapToObj(i -> new ReentrantReadWriteLock())
+            .toArray(ReadWriteLock[]::new);
+
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Files.createDirectories(blobStore.getRoot().resolve(UPLOADS));
+    }
+
+    public BlobUpload initiate(String name, long size) throws IOException {
+        if (size < 0 || size > maxSize.toBytes()) {
+            throw uploadException("size must be between 0 and " + maxSize.toBytes() + " bytes");
+        }
+        String id = UUID.randomUUID().toString().replace("-", "");
+        Path upload = Files.createDirectories(root.resolve(id).resolve(PARTS)).getParent();
+        try (RandomAccessFile data = new RandomAccessFile(upload.resolve(DATA).toFile(), "rw")) {
+            data.setLength(size);
+        }
+        Properties descriptor = new Properties();
+        if (name != null) {
+            descriptor.setProperty(NAME, name);
+        }
+        descriptor.setProperty(SIZE, Long.toString(size));
+        descriptor.setProperty(CHUNK_SIZE, Long.toString(chunkSize.toBytes()));
+        Path temp = Files.createTempFile(upload, null, null);
+        try (OutputStream outputStream = Files.newOutputStream(temp)) {
+            descriptor.store(outputStream, null);
+        }
+        Files.move(temp, upload.resolve(DESCRIPTOR), StandardCopyOption.ATOMIC_MOVE);
+        return find(id);
+    }
+
+    public BlobUpload find(String id) throws IOException {
+        Path upload = resolve(id);
+        Properties descriptor = new Properties();
+        try (InputStream inputStream = Files.newInputStream(upload.resolve(DESCRIPTOR))) {
+            descriptor.load(inputStream);
+        } catch (NoSuchFileException e) {
+            throw notFoundException(UPLOADS + " " + id);
+        }
+        BitSet received = new BitSet();
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(upload.resolve(PARTS))) {
+            for (Path part : parts) {
+                received.set(Integer.parseInt(part.getFileName().toString()));
+            }
+        }
+        return new BlobUpload(id, descriptor.getProperty(NAME), Long.parseLong(descriptor.getProperty(SIZE)),
+                Long.parseLong(descriptor.getProperty(CHUNK_SIZE)), received);
+    }
+
+    public void putPart(String id, int index, String digest, InputStream inputStream) throws IOException {
+        Lock lock = lock(id).readLock();
+        lock.lock();
+        try {
+            writePart(find(id), index, digest, inputStream);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String commit(BlobUpload upload) throws IOException {
+        Lock lock = lock(upload.getId()).writeLock();
+        lock.lock();
+        try {
+            BlobUpload current = find(upload.getId());
+            if (!current.isComplete()) {
+                throw uploadException("parts " + current.getMissing() + " are missing");
+            }
+            String digest = blobStore.putFile(resolve(current.getId()).resolve(DATA));
+            abort(current.getId());
+            return digest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void abort(String id) throws IOException {
+        Lock lock = lock(id).writeLock();
+        lock.lock();
+        try {
+            if (!FileSystemUtils.deleteRecursively(resolve(id))) {
+                throw notFoundException(UPLOADS + " " + id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writePart(BlobUpload upload, int index, String digest, InputStream inputStream) throws IOException {
+        String id = upload.getId();
+        if (index < 0 || index >= upload.getChunks()) {
+            throw uploadException("part " + index + " is outside 0.." + (upload.getChunks() - 1));
+        }
+        long length = upload.getChunkLength(index);
+        long position = index * upload.getChunkSize();
+        MessageDigest messageDigest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(resolve(id).resolve(DATA), StandardOpenOption.WRITE);
+             ReadableByteChannel in = Channels.newChannel(inputStream)) {
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                if (written + buffer.remaining() > length) {
+                    throw uploadException("part " + index + " is longer than " + length + " bytes");
+                }
+                messageDigest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, position + written);
+                }
+                buffer.clear();
+            }
+            if (written != length) {
+                throw uploadException("part " + index + " has " + written + " of " + length + " bytes");
+            }
+            if (digest != null && !digest.equalsIgnoreCase(HexFormat.of().formatHex(messageDigest.digest()))) {
+                throw uploadException("part " + index + " does not match its digest");
+            }
+            channel.force(false);
+        }
+        try {
+            Files.createFile(resolve(id).resolve(PARTS).resolve(Integer.toString(index)));
+        } catch (FileAlreadyExistsException e) {
+            log.debug("Part {} of upload {} received again", index, id);
+        }
+    }
+
+    private ReadWriteLock lock(String id) {
+        return locks[Math.floorMod(Objects.hashCode(id), LOCK_STRIPES)];
+    }
+
+    private Path resolve(String id) {
+        if (id == null || !UPLOAD_ID.matcher(id).matches()) {
+            throw notFoundException(UPLOADS + " " + id);
+        }
+        return root.resolve(id);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(BlobStore.DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.online.store.blob;
+
+import org.springframework.core.io.ByteArrayResource;
+
+public class CachedBlobResource extends ByteArrayResource {
+
+    private final String eTag;
+    private final String contentType;
+    private final long lastModified;
+    private final String name;
+
+    public CachedBlobResource(byte[] content, String eTag, String contentType, long lastModified, String name) {
+        super(content);
+        this.eTag = eTag;
+        this.contentType = contentType;
+        this.lastModified = lastModified;
+        this.name = name;
+    }
+
+    public CachedBlobResource withName(String name) {
+        return new CachedBlobResource(getByteArray(), eTag, contentType, lastModified, name);
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String getFilename() {
+        return name;
+    }
+
+}
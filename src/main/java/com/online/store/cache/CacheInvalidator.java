@@ -0,0 +1,100 @@
+package com.online.store.cache;
+
+import com.online.store.entity.CacheInvalidation;
+import com.online.store.repository.CacheInvalidationRepository;
+import com.online.store.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class CacheInvalidator {
+
+    private static final int MAX_PENDING = 1000;
+
+    @Value("${store.cache.invalidation.window:PT10M}")
+    private Duration window;
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    private final Map<Long, LocalDateTime> pending = new HashMap<>();
+    private Long lastSequenceNumber;
+    private LocalDateTime lastPoll;
+
+
+    public void evict(String cacheName, Long id) {
+        cacheInvalidationRepository.save(new CacheInvalidation(cacheName, id, LocalDateTime.now()));
+        TransactionUtil.afterCommit(() -> evictLocally(cacheName, id));
+    }
+
+    public void clear(String cacheName) {
+        evict(cacheName, null);
+    }
+
+    @Scheduled(fixedDelayString = "${store.cache.invalidation.poll-interval:PT5S}")
+    public synchronized void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minus(window);
+        try {
+            if (lastSequenceNumber == null) {
+                lastSequenceNumber = cacheInvalidationRepository.findMaxSequenceNumber();
+            } else if (lastPoll != null && lastPoll.isBefore(since)) {
+                evictAllLocally();
+            }
+            if (!pending.isEmpty()) {
+                cacheInvalidationRepository.findBySequenceNumberIn(pending.keySet()).forEach(invalidation -> {
+                    pending.remove(invalidation.getSequenceNumber());
+                    evictLocally(invalidation.getCacheName(), invalidation.getEntryId());
+                });
+            }
+            for (CacheInvalidation invalidation : cacheInvalidationRepository
+                    .findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(lastSequenceNumber)) {
+                if (pending.size() + invalidation.getSequenceNumber() - lastSequenceNumber - 1 > MAX_PENDING) {
+                    pending.clear();
+                    evictAllLocally();
+                } else {
+                    for (long skipped = lastSequenceNumber + 1; skipped < invalidation.getSequenceNumber(); skipped++) {
+                        pending.put(skipped, now);
+                    }
+                }
+                evictLocally(invalidation.getCacheName(), invalidation.getEntryId());
+                lastSequenceNumber = invalidation.getSequenceNumber();
+            }
+            pending.values().removeIf(firstMissed -> firstMissed.isBefore(since));
+            cacheInvalidationRepository.deleteOlderThan(since.minus(window), lastSequenceNumber);
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            log.error("Could not poll cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private void evictAllLocally() {
+        cacheManager.getCacheNames().forEach(cacheName -> evictLocally(cacheName, null));
+    }
+
+    private void evictLocally(String cacheName, Long id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (id == null) {
+            cache.clear();
+        } else {
+            cache.evict(id);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.online.store.cache;
+
+import com.online.store.entity.Roles;
+import com.online.store.entity.enums.Role;
+import com.online.store.repository.RoleRepository;
+import com.online.store.util.Constant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.online.store.exception.NotFoundException.notFoundException;
+
+@Component
+public class RoleReferences {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private volatile Map<Role, Roles> roles;
+
+
+    public Roles get(Role role) {
+        Roles reference = roles().get(role);
+        if (reference == null) {
+            throw notFoundException(Constant.ROLES);
+        }
+        return reference;
+    }
+
+    private Map<Role, Roles> roles() {
+        Map<Role, Roles> current = roles;
+        if (current == null) {
+            current = new EnumMap<>(Role.class);
+            for (Roles reference : roleRepository.findAll()) {
+                current.put(reference.getRole(), reference);
+            }
+            roles = current;
+        }
+        return current;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.online.store.catalog;
+
+import com.online.store.entity.Feature;
+import com.online.store.repository.CategoryNode;
+import com.online.store.repository.FeatureKeyNode;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class CatalogDictionary {
+
+    private final Map<String, Long> categories = new HashMap<>();
+    private final Map<String, Long> features = new HashMap<>();
+    private final Map<String, Long> featureKeys = new HashMap<>();
+    private final Map<Long, CategoryNode> categoryNodes = new HashMap<>();
+    private final Map<Long, String> categoryPaths = new HashMap<>();
+    private final Map<Long, String> featureNames = new HashMap<>();
+    private final Map<Long, FeatureKeyNode> featureKeyNodes = new HashMap<>();
+
+
+    public CatalogDictionary(List<CategoryNode> categoryNodes, List<Feature> featureList,
+                             List<FeatureKeyNode> featureKeyNodes) {
+        categoryNodes.forEach(node -> {
+            categories.putIfAbsent(key(node.getParentId(), node.getName()), node.getId());
+            this.categoryNodes.put(node.getId(), node);
+        });
+        featureList.forEach(feature -> {
+            features.putIfAbsent(key(null, feature.getName()), feature.getId());
+            featureNames.put(feature.getId(), feature.getName());
+        });
+        featureKeyNodes.forEach(node -> {
+            featureKeys.putIfAbsent(key(node.getFeatureId(), node.getName()), node.getId());
+            this.featureKeyNodes.put(node.getId(), node);
+        });
+    }
+
+
+    public Long getCategory(Long parentId, String name) {
+        return categories.get(key(parentId, name));
+    }
+
+    public void putCategory(Long parentId, String name, Long id) {
+        categories.put(key(parentId, name), id);
+    }
+
+    public Long getFeature(String name) {
+        return features.get(key(null, name));
+    }
+
+    public void putFeature(String name, Long id) {
+        features.put(key(null, name), id);
+    }
+
+    public Long getFeatureKey(Long featureId, String name) {
+        return featureKeys.get(key(featureId, name));
+    }
+
+    public void putFeatureKey(Long featureId, String name, Long id) {
+        featureKeys.put(key(featureId, name), id);
+    }
+
+    public String getCategoryPath(Long id) {
+        CategoryNode node = id == null ? null : categoryNodes.get(id);
+        if (node == null) {
+            return null;
+        }
+        String path = categoryPaths.get(id);
+        if (path == null) {
+            String parentPath = getCategoryPath(node.getParentId());
+            path = parentPath == null ? node.getName() : parentPath + CatalogFormat.CATEGORY_SEPARATOR + node.getName();
+            categoryPaths.put(id, path);
+        }
+        return path;
+    }
+
+    public String getFeatureLabel(Long featureKeyId) {
+        FeatureKeyNode node = featureKeyNodes.get(featureKeyId);
+        return node == null ? null
+                : featureNames.get(node.getFeatureId()) + CatalogFormat.FEATURE_KEY_SEPARATOR + node.getName();
+    }
+
+    private static String key(Long ownerId, String name) {
+        return ownerId + CatalogFormat.CATEGORY_SEPARATOR + (name == null ? null : name.toLowerCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.online.store.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.online.store.exception.FileStoreException.readFileException;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+public enum CatalogFormat {
+
+    CSV(CatalogFormat.CSV_MEDIA_TYPE, ".csv") {
+        @Override
+        public CatalogParser parser(String header) {
+            if (header == null) {
+                throw readFileException("CSV header is missing");
+            }
+            List<BiConsumer<CatalogRow, String>> setters = new ArrayList<>();
+            for (String column : splitCsv(header.replace(BYTE_ORDER_MARK, ""))) {
+                BiConsumer<CatalogRow, String> setter = COLUMNS.get(column.trim().toLowerCase(Locale.ROOT));
+                if (setter == null) {
+                    throw readFileException("unknown CSV column " + column);
+                }
+                setters.add(setter);
+            }
+            return line -> {
+                List<String> values = splitCsv(line);
+                if (values.size() != setters.size()) {
+                    throw new IllegalArgumentException("expected " + setters.size() + " values but found " + values.size());
+                }
+                CatalogRow row = new CatalogRow();
+                for (int i = 0; i < values.size(); i++) {
+                    String value = values.get(i);
+                    setters.get(i).accept(row, isBlank(value) ? null : value.trim());
+                }
+                return row;
+            };
+        }
+
+        @Override
+        public boolean isOpenAfter(String line, boolean open) {
+            return open ^ StringUtils.countMatches(line, '"') % 2 == 1;
+        }
+
+        @Override
+        public String header() {
+            return CSV_HEADER;
+        }
+
+        @Override
+        public String format(CatalogRow row) {
+            return Stream.of(row.getName(), row.getCodeUnit(), row.getIsActive(), row.getMaxPrice(), row.getPrice(),
+                            row.getDescription(), row.getCategory(), String.join(FEATURE_SEPARATOR, row.getFeatures()))
+                    .map(value -> quoteCsv(value == null ? "" : value.toString()))
+                    .collect(Collectors.joining(","));
+        }
+    },
+
+    NDJSON(CatalogFormat.NDJSON_MEDIA_TYPE, ".ndjson") {
+        @Override
+        public boolean hasHeader() {
+            return false;
+        }
+
+        @Override
+        public CatalogParser parser(String header) {
+            return line -> {
+                try {
+                    return MAPPER.readValue(line, CatalogRow.class);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException(e.getOriginalMessage());
+                }
+            };
+        }
+
+        @Override
+        public String header() {
+            return null;
+        }
+
+        @Override
+        public String format(CatalogRow row) {
+            try {
+                return MAPPER.writeValueAsString(row);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String FEATURE_SEPARATOR = "|";
+    public static final String FEATURE_KEY_SEPARATOR = "=";
+    public static final String CATEGORY_SEPARATOR = "/";
+
+    private static final String CSV_HEADER = "name,codeUnit,isActive,maxPrice,price,description,category,features";
+    private static final String CSV_SPECIAL_CHARACTERS = ",\"\r\n";
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, BiConsumer<CatalogRow, String>> COLUMNS = Map.of(
+            "name", CatalogRow::setName,
+            "codeunit", CatalogRow::setCodeUnit,
+            "isactive", (row, value) -> row.setIsActive(toBoolean(value)),
+            "maxprice", (row, value) -> row.setMaxPrice(value == null ? null : Integer.valueOf(value)),
+            "price", (row, value) -> row.setPrice(value == null ? null : Integer.valueOf(value)),
+            "description", CatalogRow::setDescription,
+            "category", CatalogRow::setCategory,
+            "features", (row, value) -> row.setFeatures(value == null ? new ArrayList<>()
+                    : new ArrayList<>(Arrays.asList(value.split("\\" + FEATURE_SEPARATOR)))));
+
+    private final String mediaType;
+    private final String extension;
+
+    CatalogFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public boolean hasHeader() {
+        return true;
+    }
+
+    public boolean isOpenAfter(String line, boolean open) {
+        return false;
+    }
+
+    public abstract CatalogParser parser(String header);
+
+    public abstract String header();
+
+    public abstract String format(CatalogRow row);
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static CatalogFormat of(String mediaTypeOrFileName) {
+        String value = mediaTypeOrFileName == null ? "" : mediaTypeOrFileName.toLowerCase(Locale.ROOT);
+        for (CatalogFormat format : values()) {
+            if (value.startsWith(format.mediaType) || value.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        throw readFileException("unsupported catalog format " + mediaTypeOrFileName);
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    static String quoteCsv(String value) {
+        if (!StringUtils.containsAny(value, CSV_SPECIAL_CHARACTERS)) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static Boolean toBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (!value.equalsIgnoreCase(Boolean.TRUE.toString()) && !value.equalsIgnoreCase(Boolean.FALSE.toString())) {
+            throw new IllegalArgumentException("isActive must be true or false but was " + value);
+        }
+        return Boolean.valueOf(value);
+    }
+
+    @FunctionalInterface
+    public interface CatalogParser {
+
+        CatalogRow parse(String line);
+
+    }
+
+}
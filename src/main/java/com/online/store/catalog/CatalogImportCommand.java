@@ -0,0 +1,50 @@
+package com.online.store.catalog;
+
+import com.online.store.dto.response.CatalogImportResponse;
+import com.online.store.service.CatalogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Slf4j
+@Component
+@ConditionalOnProperty("store.import.file")
+public class CatalogImportCommand implements ApplicationRunner {
+
+    @Value("${store.import.file}")
+    private String file;
+
+    @Autowired
+    private CatalogService catalogService;
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path path = Paths.get(file);
+        CatalogImportResponse catalogImportResponse;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            catalogImportResponse = catalogService.importProducts(inputStream,
+                    CatalogFormat.of(path.getFileName().toString()));
+        }
+        catalogImportResponse.getErrors().forEach(error -> log.warn("Rejected line {}", error));
+        log.info("Imported {} products from {}, rejected {}", catalogImportResponse.getImported(), path,
+                catalogImportResponse.getRejected());
+        int exitCode = catalogImportResponse.getRejected() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+}
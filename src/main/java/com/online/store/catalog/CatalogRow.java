@@ -0,0 +1,68 @@
+package com.online.store.catalog;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CatalogRow {
+
+    @Size(max = 150, message = "name must be at most 150 characters")
+    @NotBlank(message = "name must be not empty")
+    private String name;
+
+    @Size(max = 100, message = "codeUnit must be at most 100 characters")
+    @NotBlank(message = "codeUnit must be not empty")
+    private String codeUnit;
+
+    @NotNull(message = "isActive is missing")
+    private Boolean isActive;
+
+    @NotNull(message = "maxPrice is missing")
+    @Positive(message = "maxPrice must be positive")
+    private Integer maxPrice;
+
+    @NotNull(message = "price is missing")
+    @Positive(message = "price must be positive")
+    private Integer price;
+
+    @Size(max = 255, message = "description must be at most 255 characters")
+    private String description;
+
+    @NotBlank(message = "category is missing")
+    private String category;
+
+    private List<String> features = new ArrayList<>();
+
+    @JsonIgnore
+    private long line;
+
+    @JsonIgnore
+    private String error;
+
+    @JsonIgnore
+    private Long id;
+
+    @JsonIgnore
+    private Long categoryId;
+
+    @JsonIgnore
+    private List<Long> featureKeysId = new ArrayList<>();
+
+
+    @JsonIgnore
+    public boolean isRejected() {
+        return error != null;
+    }
+
+}
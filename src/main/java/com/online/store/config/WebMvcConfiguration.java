@@ -1,15 +1,19 @@
 package com.online.store.config;
 
 import com.online.store.swagger.SwaggerConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebMvc
 @ComponentScan
@@ -19,6 +23,14 @@ public class WebMvcConfiguration extends WebMvcConfigurerAdapter {
     public static final String CLASSPATH_META_INF_RESOURCES = "classpath:/META-INF/resources/";
     public static final String CLASSPATH_META_INF_RESOURCES_WEBJARS = "classpath:/META-INF/resources/webjars/";
 
+    @Value("${store.export.timeout:PT1H}")
+    private Duration asyncTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(new LocaleChangeInterceptor());
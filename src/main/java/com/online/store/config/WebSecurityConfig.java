@@ -64,6 +64,9 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/users/login").permitAll()
                 .antMatchers("/users/register").permitAll()
                 .antMatchers("/products/all").permitAll()
+                .antMatchers("/products/slice").permitAll()
+                .antMatchers("/actuator/health").permitAll()
+                .antMatchers("/actuator/**").access("hasAuthority('ADMIN')")
                 .antMatchers("/categories/**").access("hasAuthority('ADMIN')")
                 .antMatchers("/characteristics/**").access("hasAuthority('ADMIN')")
                 .antMatchers("/v2/api-docs", "/configuration/ui", "/swagger-resources/**",
@@ -3,9 +3,9 @@ package com.online.store.controller;
 import com.online.store.dto.request.CategoryFindRequest;
 import com.online.store.dto.request.CategoryRequest;
 import com.online.store.dto.response.CategoryResponse;
+import com.online.store.dto.response.SliceResponse;
 import com.online.store.service.CategoryService;
 import com.online.store.util.CategoryConversionUtil;
-import com.online.store.util.CategoryJsonStructure;
 import io.swagger.annotations.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -91,11 +91,18 @@ public class CategoryController {
         return categoryService.findAll(categoryFindRequest);
     }
 
+    @ApiOperation(value = "View a slice of Category after the continuation token")
+    @PostMapping("/slice")
+    public SliceResponse<CategoryResponse> findSlice(@Valid @RequestBody CategoryFindRequest categoryFindRequest) {
+        log.info("Request to find slice of categories {}", categoryFindRequest);
+        return categoryService.findSlice(categoryFindRequest);
+    }
+
     @ApiOperation(value = "View a list of Category with children")
     @PostMapping("/tree")
     public Map<Long, CategoryConversionUtil> findTree(@Valid @RequestBody CategoryFindRequest categoryFindRequest) {
         log.info("Request to find all categories {}", categoryFindRequest);
-        return new CategoryJsonStructure().getJson(categoryService.findAll(categoryFindRequest));
+        return categoryService.findTree(categoryFindRequest);
     }
 
 }
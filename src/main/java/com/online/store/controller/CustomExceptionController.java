@@ -3,6 +3,8 @@ package com.online.store.controller;
 import com.online.store.dto.response.ErrorResponse;
 import com.online.store.exception.AlreadyExistException;
 import com.online.store.exception.FileStoreException;
+import com.online.store.exception.InvalidPageSizeException;
+import com.online.store.exception.InvalidTokenException;
 import com.online.store.exception.NotFoundException;
 import com.online.store.exception.UnauthorizedAccessException;
 import com.online.store.util.MessagesErrors;
@@ -67,6 +69,22 @@ public class CustomExceptionController extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(InvalidTokenException.class)
+    protected ResponseEntity<Object> handleInvalidTokenException(InvalidTokenException ex) {
+        List<String> details = new ArrayList<>();
+        details.add(ex.getMessage());
+        ErrorResponse error = new ErrorResponse(INVALID_TOKEN, details);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidPageSizeException.class)
+    protected ResponseEntity<Object> handleInvalidPageSizeException(InvalidPageSizeException ex) {
+        List<String> details = new ArrayList<>();
+        details.add(ex.getMessage());
+        ErrorResponse error = new ErrorResponse(VALIDATION_FAILED, details);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException ex) {
         List<String> errors = new ArrayList<>();
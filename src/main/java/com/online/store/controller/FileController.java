@@ -1,17 +1,23 @@
 package com.online.store.controller;
 
+import com.online.store.blob.BlobResponseWriter;
+import com.online.store.dto.response.FileUploadResponse;
 import com.online.store.service.FileService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.ContentDisposition;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 @Api("REST APIs related to File Entity")
 @RestController
@@ -20,17 +26,19 @@ public class FileController {
 
     @Autowired
     private FileService fileService;
+    @Autowired
+    private BlobResponseWriter blobResponseWriter;
 
     @ApiOperation(value = "Get file by id from the system")
     @PreAuthorize("hasAuthority('ADMIN')")
     @GetMapping("/{id}")
-    @ResponseBody
-    public ResponseEntity<Resource> findFileById(@PathVariable Long id) {
+    public void findFileById(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         log.info("Request to find file{}", id);
         Resource file = fileService.findFileById(id);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFilename() + "\"")
-                .body(file);
+        blobResponseWriter.write(file, ContentDisposition.attachment()
+                .filename(file.getFilename(), StandardCharsets.UTF_8)
+                .build(), request, response);
     }
 
     @ApiOperation(value = "Creates a new file in the system")
@@ -41,6 +49,48 @@ public class FileController {
         fileService.saveProductFile(path);
     }
 
+    @ApiOperation(value = "Starts a resumable upload of a large file")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/uploads")
+    public FileUploadResponse initiateUpload(@RequestParam String name, @RequestParam long size) {
+        log.info("Request to start upload of {} ({} bytes)", name, size);
+        return fileService.initiateUpload(name, size);
+    }
+
+    @ApiOperation(value = "Get the parts still missing from an upload")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/uploads/{uploadId}")
+    public FileUploadResponse findUpload(@PathVariable String uploadId) {
+        log.info("Request to find upload {}", uploadId);
+        return fileService.findUpload(uploadId);
+    }
+
+    @ApiOperation(value = "Uploads one part of a file, may be retried and sent in parallel")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PutMapping("/uploads/{uploadId}/parts/{index}")
+    public void uploadPart(@PathVariable String uploadId, @PathVariable int index,
+                           @RequestParam(required = false) String digest, HttpServletRequest request)
+            throws IOException {
+        log.info("Request to upload part {} of {}", index, uploadId);
+        fileService.uploadPart(uploadId, index, digest, request.getInputStream());
+    }
+
+    @ApiOperation(value = "Completes an upload and creates the file in the system")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/uploads/{uploadId}")
+    public Long commitUpload(@PathVariable String uploadId) {
+        log.info("Request to complete upload {}", uploadId);
+        return fileService.commitUpload(uploadId);
+    }
+
+    @ApiOperation(value = "Cancels an upload and discards its parts")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @DeleteMapping("/uploads/{uploadId}")
+    public void abortUpload(@PathVariable String uploadId) {
+        log.info("Request to cancel upload {}", uploadId);
+        fileService.abortUpload(uploadId);
+    }
+
     @ApiOperation(value = "Delete file from the system by id")
     @PreAuthorize("hasAuthority('ADMIN')")
     @DeleteMapping("/{id}")
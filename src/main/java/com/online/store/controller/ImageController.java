@@ -1,17 +1,24 @@
 package com.online.store.controller;
 
+import com.online.store.blob.BlobResponseWriter;
+import com.online.store.image.ImageVariant;
 import com.online.store.service.ImageService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.ContentDisposition;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 @Slf4j
 @Api("REST APIs related to Image Entity")
 @RestController
@@ -20,17 +27,19 @@ public class ImageController {
 
     @Autowired
     private ImageService imageService;
+    @Autowired
+    private BlobResponseWriter blobResponseWriter;
 
-    @ApiOperation(value = "Get image by id from the system")
+    @ApiOperation(value = "Get image by id from the system, optionally as a precomputed THUMBNAIL or LISTING variant")
     @PreAuthorize("hasAuthority('ADMIN')")
     @GetMapping("/{id}")
-    @ResponseBody
-    public ResponseEntity<Resource> findImagesById(@PathVariable Long id) {
-        log.info("Request to find image{}", id);
-        Resource image = imageService.findImagesById(id);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; imageName=\"" + image.getFilename() + "\"")
-                .body(image);
+    public void findImagesById(@PathVariable Long id, @RequestParam(required = false) ImageVariant size,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Request to find image{} {}", id, size);
+        Resource image = imageService.findImagesById(id, size);
+        blobResponseWriter.write(image, ContentDisposition.attachment()
+                .filename(image.getFilename(), StandardCharsets.UTF_8)
+                .build(), request, response);
     }
 
     @ApiOperation(value = "Creates a new image in the system")
@@ -41,6 +50,14 @@ public class ImageController {
         imageService.saveProductImages(path);
     }
 
+    @ApiOperation(value = "Creates several images in the system and returns their ids in upload order")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/batch")
+    public List<Long> createImages(@RequestParam("paths") List<MultipartFile> paths) {
+        log.info("Request to create {} images", paths.size());
+        return imageService.saveProductImages(paths);
+    }
+
     @ApiOperation(value = "Delete image from the system by id")
     @PreAuthorize("hasAuthority('ADMIN')")
     @DeleteMapping("/{id}")
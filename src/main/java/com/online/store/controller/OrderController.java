@@ -34,7 +34,7 @@ public class OrderController {
 
     @ApiOperation(value = "Creates a new order in the system")
     @PostMapping("/{userId}/orders")
-    public ResponseEntity<OrderResponse> createOrder(@PathVariable Long userId, List<Long> cardListId) {
+    public ResponseEntity<OrderResponse> createOrder(@PathVariable Long userId, @RequestParam List<Long> cardListId) {
         log.info("Request to create order {}", userId);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
@@ -1,16 +1,26 @@
 package com.online.store.controller;
 
+import com.online.store.catalog.CatalogFormat;
 import com.online.store.dto.request.ProductFindRequest;
 import com.online.store.dto.request.ProductRequest;
+import com.online.store.dto.response.CatalogImportResponse;
 import com.online.store.dto.response.ProductResponse;
+import com.online.store.dto.response.SliceResponse;
+import com.online.store.service.CatalogService;
 import com.online.store.service.ProductService;
 import io.swagger.annotations.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -19,8 +29,12 @@ import java.util.List;
 @RequestMapping("/products")
 public class ProductController {
 
+    public static final String CATALOG = "catalog";
+
     @Autowired
     private ProductService productService;
+    @Autowired
+    private CatalogService catalogService;
 
     @ApiOperation(value = "View a list of available products")
     @PostMapping("/all")
@@ -29,6 +43,13 @@ public class ProductController {
         return productService.findProductsByParam(productFindRequest);
     }
 
+    @ApiOperation(value = "View a slice of available products after the continuation token")
+    @PostMapping("/slice")
+    public SliceResponse<ProductResponse> findProductsSlice(@Valid @RequestBody ProductFindRequest productFindRequest) {
+        log.info("Request to find slice of products {}", productFindRequest);
+        return productService.findProductsSlice(productFindRequest);
+    }
+
     @ApiOperation(value = "Search a product with an ID")
     @ApiImplicitParam(
             name = "id",
@@ -90,6 +111,30 @@ public class ProductController {
         return productService.createProduct(productRequest);
     }
 
+    @ApiOperation(value = "Imports products from a CSV or NDJSON catalog streamed in the request body")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping(value = "/import", consumes = {CatalogFormat.CSV_MEDIA_TYPE, CatalogFormat.NDJSON_MEDIA_TYPE})
+    public CatalogImportResponse importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                InputStream inputStream) {
+        log.info("Request to import products from {}", contentType);
+        return catalogService.importProducts(inputStream, CatalogFormat.of(contentType));
+    }
+
+    @ApiOperation(value = "Exports all products as a CSV or NDJSON catalog streamed in the response body")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "NDJSON") CatalogFormat format) {
+        log.info("Request to export products as {}", format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(CATALOG + format.getExtension())
+                        .build()
+                        .toString())
+                .body(outputStream -> catalogService.exportProducts(outputStream, format));
+    }
+
     @ApiOperation(value = "Update an existing product in the system")
     @ApiImplicitParam(
             name = "id",
@@ -12,5 +12,6 @@ public class CategoryFindRequest {
     private Integer pageNumber = 0;
     private Integer pageSize = 20;
     private String sortBy = "name";
+    private String continuationToken;
 
 }
@@ -21,6 +21,8 @@ public class ProductFindRequest {
     private Integer pageNumber = 0;
     private Integer pageSize = 20;
     private String sortBy = "name";
+    @ApiModelProperty(notes = "Token of the next slice returned by the previous request")
+    private String continuationToken;
 
 
     public ProductFindRequest() {
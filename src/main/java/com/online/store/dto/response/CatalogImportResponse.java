@@ -0,0 +1,17 @@
+package com.online.store.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class CatalogImportResponse {
+
+    private long imported;
+    private long rejected;
+    private List<String> errors = new ArrayList<>();
+
+}
@@ -0,0 +1,20 @@
+package com.online.store.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class FileUploadResponse {
+
+    private String uploadId;
+    private String name;
+    private long size;
+    private long chunkSize;
+    private int chunks;
+    private List<Integer> missing = new ArrayList<>();
+
+}
@@ -0,0 +1,19 @@
+package com.online.store.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class SliceResponse<T> {
+
+    private List<T> content = new ArrayList<>();
+
+    private String continuationToken;
+
+    private boolean hasNext;
+
+}
@@ -0,0 +1,30 @@
+package com.online.store.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+public class CacheInvalidation extends IdHolder {
+
+    @Column(insertable = false, updatable = false)
+    private Long sequenceNumber;
+    private String cacheName;
+    private Long entryId;
+    private LocalDateTime createDate;
+
+    public CacheInvalidation() {
+    }
+
+    public CacheInvalidation(String cacheName, Long entryId, LocalDateTime createDate) {
+        this.cacheName = cacheName;
+        this.entryId = entryId;
+        this.createDate = createDate;
+    }
+
+}
@@ -7,7 +7,6 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
-import java.util.Objects;
 
 import static com.online.store.util.Constant.PRODUCT_ID;
 
@@ -39,21 +38,4 @@ public class Card extends IdHolder {
                 ", order=" + order +
                 '}';
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Card card = (Card) o;
-        return Objects.equals(quantity, card.quantity) &&
-                Objects.equals(total, card.total) &&
-                Objects.equals(isActive, card.isActive) &&
-                Objects.equals(product, card.product) &&
-                Objects.equals(order, card.order);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(quantity, total, isActive, product, order);
-    }
 }
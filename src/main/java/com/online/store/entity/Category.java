@@ -8,7 +8,6 @@ import lombok.Setter;
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import static com.online.store.util.Constant.CATEGORY;
 import static com.online.store.util.Constant.PARENT_CATEGORY;
@@ -58,18 +57,4 @@ public class Category extends IdHolder {
                 '}';
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Category category = (Category) o;
-        return Objects.equals(name, category.name) &&
-                Objects.equals(parentCategory, category.parentCategory);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(name, parentCategory);
-    }
-
 }
@@ -0,0 +1,34 @@
+package com.online.store.entity;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@Entity
+@IdClass(CategoryClosure.Key.class)
+public class CategoryClosure {
+
+    @Id
+    private Long ancestorId;
+    @Id
+    private Long descendantId;
+    private Integer depth;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private Long ancestorId;
+        private Long descendantId;
+
+    }
+
+}
@@ -8,7 +8,6 @@ import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import static com.online.store.util.Constant.FEATURE;
 
@@ -44,18 +43,4 @@ public class Feature extends IdHolder {
                 "name='" + name + '\'' +
                 '}';
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Feature feature = (Feature) o;
-        return Objects.equals(name, feature.name) &&
-                Objects.equals(featureKeyList, feature.featureKeyList);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(name, featureKeyList);
-    }
 }
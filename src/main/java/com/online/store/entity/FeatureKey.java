@@ -5,7 +5,6 @@ import lombok.Setter;
 
 import javax.persistence.*;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 
 import static com.online.store.util.Constant.FEATURE_ID;
@@ -33,18 +32,4 @@ public class FeatureKey extends IdHolder {
                 ", feature=" + feature +
                 '}';
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        FeatureKey that = (FeatureKey) o;
-        return Objects.equals(name, that.name) &&
-                Objects.equals(feature, that.feature);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(name, feature);
-    }
 }
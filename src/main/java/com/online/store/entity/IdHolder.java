@@ -3,11 +3,14 @@ package com.online.store.entity;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.proxy.HibernateProxyHelper;
 
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import java.util.Collection;
 
 @Getter
 @Setter
@@ -15,7 +18,37 @@ import javax.persistence.MappedSuperclass;
 public class IdHolder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = "com.online.store.entity.PooledIdGenerator")
     private Long id;
 
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IdHolder) || entityClass(this) != entityClass(o)) return false;
+        Long id = getId();
+        return id != null && id.equals(((IdHolder) o).getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return entityClass(this).hashCode();
+    }
+
+    protected static <T> void addInverse(Collection<T> inverse, T entity) {
+        if (Hibernate.isInitialized(inverse)) {
+            inverse.add(entity);
+        }
+    }
+
+    protected static <T> void removeInverse(Collection<T> inverse, T entity) {
+        if (Hibernate.isInitialized(inverse)) {
+            inverse.remove(entity);
+        }
+    }
+
+    private static Class<?> entityClass(Object entity) {
+        return HibernateProxyHelper.getClassWithoutInitializingProxy(entity);
+    }
+
 }
@@ -4,11 +4,12 @@ import com.online.store.entity.enums.Status;
 import com.online.store.util.Constant;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenerationTime;
+import org.hibernate.annotations.GeneratorType;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import static com.online.store.util.Constant.ORDER;
 
@@ -17,6 +18,7 @@ import static com.online.store.util.Constant.ORDER;
 @Entity
 public class Order extends IdHolder {
 
+    @GeneratorType(type = OrderNumberGenerator.class, when = GenerationTime.INSERT)
     private String numberOrder;
 
     private String createDate;
@@ -57,20 +59,4 @@ public class Order extends IdHolder {
                 ", status=" + status +
                 '}';
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Order order = (Order) o;
-        return Objects.equals(numberOrder, order.numberOrder) &&
-                Objects.equals(createDate, order.createDate) &&
-                Objects.equals(delivery, order.delivery) &&
-                status == order.status;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(numberOrder, createDate, delivery, status);
-    }
 }
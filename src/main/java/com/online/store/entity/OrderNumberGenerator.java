@@ -0,0 +1,14 @@
+package com.online.store.entity;
+
+import com.online.store.util.Constant;
+import org.hibernate.Session;
+import org.hibernate.tuple.ValueGenerator;
+
+public class OrderNumberGenerator implements ValueGenerator<String> {
+
+    @Override
+    public String generateValue(Session session, Object owner) {
+        return String.format(Constant.NUMBER_OF_ORDER, ((Order) owner).getId());
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.online.store.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String NAME = "pooled";
+    public static final String BLOCK_SIZE = "store.id.block-size";
+    public static final String SEGMENT_PER_ENTITY = "store.id.segment-per-entity";
+    public static final String TABLE = "id_segment";
+    public static final String SEGMENT_COLUMN = "segment_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final String DEFAULT_SEGMENT = "default";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private boolean segmentPerEntity;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService settings = serviceRegistry.getService(ConfigurationService.class);
+        segmentPerEntity = settings.getSetting(SEGMENT_PER_ENTITY, StandardConverters.BOOLEAN, true);
+        params.setProperty(TABLE_PARAM, TABLE);
+        params.setProperty(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        params.setProperty(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        params.setProperty(INCREMENT_PARAM, String.valueOf(ConfigurationHelper.getInt(BLOCK_SIZE, settings.getSettings(), DEFAULT_BLOCK_SIZE)));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+
+    @Override
+    protected String determineSegmentValue(Properties params) {
+        String entityName = params.getProperty(IdentifierGenerator.ENTITY_NAME);
+        return segmentPerEntity && entityName != null ? StringHelper.unqualify(entityName) : DEFAULT_SEGMENT;
+    }
+
+}
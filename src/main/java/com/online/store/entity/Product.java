@@ -79,22 +79,22 @@ public class Product extends IdHolder {
 
     public void addFeatureKey(FeatureKey featureKey) {
         this.getFeatureKeys().add(featureKey);
-        featureKey.getProducts().add(this);
+        addInverse(featureKey.getProducts(), this);
     }
 
     public void removeFeatureKey(FeatureKey featureKey) {
         this.getFeatureKeys().remove(featureKey);
-        featureKey.getProducts().remove(this);
+        removeInverse(featureKey.getProducts(), this);
     }
 
     public void addFile(ProductFile productFile) {
         this.getProductFiles().add(productFile);
-        productFile.getProducts().add(this);
+        addInverse(productFile.getProducts(), this);
     }
 
     public void removeFile(ProductFile productFile) {
         this.getProductFiles().remove(productFile);
-        productFile.getProducts().remove(this);
+        removeInverse(productFile.getProducts(), this);
     }
 
     public void addCard(Card card) {
@@ -109,12 +109,12 @@ public class Product extends IdHolder {
 
     public void addImage(ProductImage productImage) {
         this.getProductImages().add(productImage);
-        productImage.getProducts().add(this);
+        addInverse(productImage.getProducts(), this);
     }
 
     public void removeImage(ProductImage productImage) {
         this.getProductImages().remove(productImage);
-        productImage.getProducts().remove(this);
+        removeInverse(productImage.getProducts(), this);
     }
 
 
@@ -131,24 +131,4 @@ public class Product extends IdHolder {
                 '}';
     }
 
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Product product = (Product) o;
-        return Objects.equals(createDate, product.createDate) &&
-                Objects.equals(name, product.name) &&
-                Objects.equals(codeUnit, product.codeUnit) &&
-                Objects.equals(maxPrice, product.maxPrice) &&
-                Objects.equals(price, product.price) &&
-                Objects.equals(description, product.description) &&
-                Objects.equals(isActive, product.isActive) &&
-                Objects.equals(category, product.category);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(createDate, name, codeUnit, maxPrice, price, description, isActive, category);
-    }
 }
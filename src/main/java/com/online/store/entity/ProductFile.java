@@ -7,7 +7,6 @@ import lombok.Setter;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 
 import static com.online.store.util.Constant.PRODUCT_FILES;
@@ -18,6 +17,8 @@ import static com.online.store.util.Constant.PRODUCT_FILES;
 public class ProductFile extends IdHolder {
 
     private String path;
+    private String digest;
+    private String name;
 
     @ManyToMany(mappedBy = PRODUCT_FILES)
     private Set<Product> products = new HashSet<>();
@@ -27,22 +28,9 @@ public class ProductFile extends IdHolder {
     public String toString() {
         return "ProductFile{" +
                 "path='" + path + '\'' +
-                ", products=" + products +
+                ", digest='" + digest + '\'' +
+                ", name='" + name + '\'' +
                 '}';
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        ProductFile that = (ProductFile) o;
-        return Objects.equals(path, that.path) &&
-                Objects.equals(products, that.products);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(path, products);
-    }
-
 }
@@ -0,0 +1,27 @@
+package com.online.store.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+public class TokenRevocation {
+
+    @Id
+    private Long userId;
+    private LocalDateTime revokedBefore;
+
+    public TokenRevocation() {
+    }
+
+    public TokenRevocation(Long userId, LocalDateTime revokedBefore) {
+        this.userId = userId;
+        this.revokedBefore = revokedBefore;
+    }
+
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.online.store.util.Constant;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -35,6 +36,7 @@ public class User extends IdHolder {
 
     private Integer discount;
 
+    @BatchSize(size = 50)
     @ManyToMany(cascade = CascadeType.MERGE)
     @JoinTable(name = USER_ROLES,
             joinColumns = @JoinColumn(name = USER_ID),
@@ -70,7 +72,6 @@ public class User extends IdHolder {
 
     public void removeRoles(Roles oldRole) {
         roles.remove(oldRole);
-        oldRole.getUsers().remove(this);
     }
 
     public void addOrder(Order order) {
@@ -85,12 +86,12 @@ public class User extends IdHolder {
 
     public void addFavouriteProduct(Product product) {
         favourites.add(product);
-        product.getUsers().add(this);
+        addInverse(product.getUsers(), this);
     }
 
     public void removeFavouriteProduct(Product product) {
         favourites.remove(product);
-        product.getUsers().remove(this);
+        removeInverse(product.getUsers(), this);
     }
 
 
@@ -107,27 +108,4 @@ public class User extends IdHolder {
                 "discount: " + discount + ',' + ' ' +
                 '}';
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        User user = (User) o;
-        return Objects.equals(createDate, user.createDate) &&
-                Objects.equals(password, user.password) &&
-                Objects.equals(firstName, user.firstName) &&
-                Objects.equals(lastName, user.lastName) &&
-                Objects.equals(email, user.email) &&
-                Objects.equals(phone, user.phone) &&
-                Objects.equals(street, user.street) &&
-                Objects.equals(city, user.city) &&
-                Objects.equals(countryCode, user.countryCode) &&
-                Objects.equals(discount, user.discount);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(createDate, password, firstName, lastName,
-                email, phone, street, city, countryCode, discount);
-    }
 }
@@ -5,6 +5,7 @@ public class FileStoreException extends RuntimeException {
     private static final String STORE_THE_FILE_ERROR = "Could not store the file. Error: ";
     private static final String READ_THE_FILE = "Could not read the file!";
     private static final String ERROR = "Failed to determine URL. Reason: ";
+    private static final String UPLOAD_ERROR = "Could not accept the upload. Reason: ";
 
     FileStoreException(String message) {
         super(message);
@@ -22,4 +23,8 @@ public class FileStoreException extends RuntimeException {
         return new FileStoreException(ERROR + object);
     }
 
+    public static FileStoreException uploadException(String object) {
+        return new FileStoreException(UPLOAD_ERROR + object);
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.online.store.exception;
+
+public class InvalidPageSizeException extends RuntimeException {
+
+    private static final String INVALID_PAGE_SIZE = " is not a valid page size, it must be at least 1";
+
+    InvalidPageSizeException(String message) {
+        super(message);
+    }
+
+    public static InvalidPageSizeException invalidPageSizeException(Integer pageSize) {
+        return new InvalidPageSizeException(pageSize + INVALID_PAGE_SIZE);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.online.store.exception;
+
+public class InvalidTokenException extends RuntimeException {
+
+    private static final String INVALID_TOKEN = " is not a valid continuation token for this request";
+
+    InvalidTokenException(String message) {
+        super(message);
+    }
+
+    public static InvalidTokenException invalidTokenException(String token) {
+        return new InvalidTokenException(token + INVALID_TOKEN);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.online.store.image;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.online.store.blob.BlobResource;
+import com.online.store.blob.BlobStore;
+import com.online.store.blob.CachedBlobResource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Component
+public class HotImageCache {
+
+    public static final String CACHE_NAME = "images";
+    public static final String SIZE_METRIC = "store.image.cache.bytes";
+
+    @Value("${store.image.cache.max-size:64MB}")
+    private DataSize maxSize;
+    @Value("${store.image.cache.max-entry-size:256KB}")
+    private DataSize maxEntrySize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, CachedBlobResource> images;
+
+
+    @PostConstruct
+    public void init() {
+        images = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<String, CachedBlobResource>weigher((tag, image) -> image.getByteArray().length)
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, images, CACHE_NAME);
+            Gauge.builder(SIZE_METRIC, this, HotImageCache::getWeightedSize)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    public Resource get(String tag, String name) {
+        CachedBlobResource image = images.getIfPresent(tag);
+        return image == null ? null : image.withName(name);
+    }
+
+    public Resource put(Resource resource) throws IOException {
+        if (!(resource instanceof BlobResource)) {
+            return resource;
+        }
+        BlobResource blob = (BlobResource) resource;
+        Path path = blob.getFile().toPath();
+        if (Files.size(path) > maxEntrySize.toBytes()) {
+            return resource;
+        }
+        CachedBlobResource image = new CachedBlobResource(Files.readAllBytes(path), blob.getETag(),
+                MediaTypeFactory.getMediaType(blob).orElse(MediaType.APPLICATION_OCTET_STREAM).toString(),
+                Files.getLastModifiedTime(path).toMillis(), blob.getFilename());
+        images.put(blob.getDigest(), image);
+        return image;
+    }
+
+    public void invalidate(String digest) {
+        images.invalidate(digest);
+        for (ImageVariant variant : ImageVariant.values()) {
+            images.invalidate(BlobStore.getTag(digest, variant.getKey()));
+        }
+    }
+
+    public void cleanUp() {
+        images.cleanUp();
+    }
+
+    public long getWeightedSize() {
+        return images.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    public CacheStats getStats() {
+        return images.stats();
+    }
+
+}
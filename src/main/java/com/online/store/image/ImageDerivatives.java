@@ -0,0 +1,169 @@
+package com.online.store.image;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.online.store.blob.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ImageDerivatives {
+
+    public static final String FORMAT = "jpg";
+
+    private static final String NAME_SEPARATOR = "-";
+
+    @Value("${store.image.derivative-threads:2}")
+    private int threads;
+    @Value("${store.image.derivative-queue-capacity:100}")
+    private int queueCapacity;
+    @Value("${store.image.max-pixels:25000000}")
+    private long maxPixels;
+    @Value("${store.image.undecodable-capacity:10000}")
+    private int undecodableCapacity;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private Cache<String, Boolean> undecodable;
+    private ThreadPoolExecutor executor;
+
+
+    @PostConstruct
+    public void init() {
+        undecodable = Caffeine.newBuilder()
+                .maximumSize(undecodableCapacity)
+                .build();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "image-derivatives");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void submit(String digest) {
+        if (digest == null || undecodable.getIfPresent(digest) != null || isComplete(digest)
+                || !inFlight.add(digest)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(digest);
+                } finally {
+                    inFlight.remove(digest);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(digest);
+            log.warn("Image derivative queue is full, skipping {}", digest);
+        }
+    }
+
+    public void generate(String digest) {
+        try {
+            BufferedImage source = read(digest);
+            if (source == null) {
+                undecodable.put(digest, Boolean.TRUE);
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (!blobStore.exists(digest, variant.getKey())) {
+                    BufferedImage scaled = scale(source, variant.getMaxSize());
+                    blobStore.putVariant(digest, variant.getKey(),
+                            outputStream -> ImageIO.write(scaled, FORMAT, outputStream));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not derive images for {}: {}", digest, e.getMessage());
+        }
+    }
+
+    private BufferedImage read(String digest) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(blobStore.resolve(digest).toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                log.debug("Blob {} is not a readable image", digest);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image {} has {} pixels, more than {}, skipping its variants", digest, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public boolean isComplete(String digest) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!blobStore.exists(digest, variant.getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static String getName(String name, ImageVariant variant) {
+        String baseName = name == null ? null : StringUtils.stripFilenameExtension(name);
+        return (baseName == null ? "" : baseName + NAME_SEPARATOR) + variant.getKey() + "." + FORMAT;
+    }
+
+    static BufferedImage scale(BufferedImage source, int maxSize) {
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return draw(current, width, height);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+}
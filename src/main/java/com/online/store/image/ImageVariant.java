@@ -0,0 +1,24 @@
+package com.online.store.image;
+
+import java.util.Locale;
+
+public enum ImageVariant {
+
+    THUMBNAIL(160),
+    LISTING(480);
+
+    private final int maxSize;
+
+    ImageVariant(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String getKey() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+}
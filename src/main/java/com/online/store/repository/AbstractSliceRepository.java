@@ -0,0 +1,41 @@
+package com.online.store.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+public abstract class AbstractSliceRepository<T> implements SliceRepository<T> {
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    private final Class<T> domainClass;
+
+    protected AbstractSliceRepository(Class<T> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    @Override
+    public List<T> findSlice(Specification<T> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+}
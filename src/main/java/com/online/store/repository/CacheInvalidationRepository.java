@@ -0,0 +1,30 @@
+package com.online.store.repository;
+
+import com.online.store.entity.CacheInvalidation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    List<CacheInvalidation> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(Long sequenceNumber);
+
+    List<CacheInvalidation> findBySequenceNumberIn(Collection<Long> sequenceNumbers);
+
+    @Query("select coalesce(max(c.sequenceNumber), 0) from CacheInvalidation c")
+    Long findMaxSequenceNumber();
+
+    @Transactional
+    @Modifying
+    @Query("delete from CacheInvalidation c where c.createDate < :createDate and c.sequenceNumber < :sequenceNumber")
+    void deleteOlderThan(@Param("createDate") LocalDateTime createDate, @Param("sequenceNumber") Long sequenceNumber);
+
+}
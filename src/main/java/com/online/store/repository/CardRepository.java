@@ -1,10 +1,30 @@
 package com.online.store.repository;
 
 import com.online.store.entity.Card;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
+import static com.online.store.util.Constant.PRODUCT;
+
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = PRODUCT)
+    Optional<Card> findById(Long id);
+
+    @Modifying
+    @Query("delete from Card c where c.product.id = :productId")
+    void deleteProductCards(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("delete from Card c where c.order.id = :orderId")
+    void deleteOrderCards(@Param("orderId") Long orderId);
+
 }
@@ -0,0 +1,76 @@
+package com.online.store.repository;
+
+import com.online.store.catalog.CatalogRow;
+import com.online.store.entity.PooledIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class CatalogRepository {
+
+    private static final String SELECT_SEGMENT = "select " + PooledIdGenerator.VALUE_COLUMN + " from "
+            + PooledIdGenerator.TABLE + " where " + PooledIdGenerator.SEGMENT_COLUMN + " = ? for update";
+    private static final String INSERT_SEGMENT = "insert into " + PooledIdGenerator.TABLE + " ("
+            + PooledIdGenerator.SEGMENT_COLUMN + ", " + PooledIdGenerator.VALUE_COLUMN + ") values (?, ?)";
+    private static final String UPDATE_SEGMENT = "update " + PooledIdGenerator.TABLE + " set "
+            + PooledIdGenerator.VALUE_COLUMN + " = ? where " + PooledIdGenerator.SEGMENT_COLUMN + " = ?";
+    private static final String INSERT_PRODUCT = "insert into product (id, code_unit, create_date, description, "
+            + "is_active, max_price, name, price, category_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FEATURE_KEY = "insert into products_with_feature (product_id, feature_key_id) "
+            + "values (?, ?)";
+    private static final long INITIAL_ID = 1L;
+
+    @Value("${spring.jpa.properties.store.id.segment-per-entity:true}")
+    private boolean segmentPerEntity;
+    @Value("${store.import.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveIds(Class<?> entityClass, int count) {
+        String segment = segmentPerEntity ? entityClass.getSimpleName() : PooledIdGenerator.DEFAULT_SEGMENT;
+        List<Long> values = jdbcTemplate.queryForList(SELECT_SEGMENT, Long.class, segment);
+        if (values.isEmpty()) {
+            jdbcTemplate.update(INSERT_SEGMENT, segment, INITIAL_ID + count);
+            return INITIAL_ID;
+        }
+        jdbcTemplate.update(UPDATE_SEGMENT, values.get(0) + count, segment);
+        return values.get(0);
+    }
+
+    public void insertProducts(List<CatalogRow> rows, LocalDateTime createDate) {
+        Timestamp timestamp = Timestamp.valueOf(createDate);
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows, batchSize, (statement, row) -> {
+            statement.setLong(1, row.getId());
+            statement.setString(2, row.getCodeUnit());
+            statement.setTimestamp(3, timestamp);
+            statement.setObject(4, row.getDescription(), Types.VARCHAR);
+            statement.setBoolean(5, row.getIsActive());
+            statement.setInt(6, row.getMaxPrice());
+            statement.setString(7, row.getName());
+            statement.setInt(8, row.getPrice());
+            statement.setLong(9, row.getCategoryId());
+        });
+        List<long[]> featureKeys = new ArrayList<>();
+        rows.forEach(row -> row.getFeatureKeysId().forEach(featureKeyId ->
+                featureKeys.add(new long[]{row.getId(), featureKeyId})));
+        jdbcTemplate.batchUpdate(INSERT_FEATURE_KEY, featureKeys, batchSize, (statement, link) -> {
+            statement.setLong(1, link[0]);
+            statement.setLong(2, link[1]);
+        });
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.online.store.repository;
+
+import com.online.store.entity.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    @Query("select c.descendantId from CategoryClosure c where c.ancestorId = :id")
+    List<Long> findDescendantIds(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "insert into category_closure (ancestor_id, descendant_id, depth) values (:id, :id, 0)",
+            nativeQuery = true)
+    void insertSelf(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "insert into category_closure (ancestor_id, descendant_id, depth) " +
+            "select a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+            "from category_closure a join category_closure d on d.ancestor_id = :id " +
+            "where a.descendant_id = :parentId", nativeQuery = true)
+    void linkSubtree(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    @Modifying
+    @Query("delete from CategoryClosure c where c.descendantId in :ids and c.ancestorId not in :ids")
+    void unlinkSubtree(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from CategoryClosure c where c.ancestorId = :id or c.descendantId = :id")
+    void deleteCategory(@Param("id") Long id);
+
+}
@@ -0,0 +1,11 @@
+package com.online.store.repository;
+
+public interface CategoryNode {
+
+    Long getId();
+
+    String getName();
+
+    Long getParentId();
+
+}
@@ -3,11 +3,26 @@ package com.online.store.repository;
 import com.online.store.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category>,
+        SliceRepository<Category> {
+
+    @Query("select c.id as id, c.name as name, p.id as parentId from Category c left join c.parentCategory p " +
+            "order by c.name, c.id")
+    List<CategoryNode> findAllNodes();
+
+    @Query("select c from Category c join fetch c.parentCategory where c.parentCategory.id = :id")
+    List<Category> findChildren(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Category c where c.id = :id")
+    int deleteCategory(@Param("id") Long id);
 
 }
@@ -0,0 +1,11 @@
+package com.online.store.repository;
+
+import com.online.store.entity.Category;
+
+public class CategoryRepositoryImpl extends AbstractSliceRepository<Category> {
+
+    public CategoryRepositoryImpl() {
+        super(Category.class);
+    }
+
+}
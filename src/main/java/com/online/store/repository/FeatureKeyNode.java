@@ -0,0 +1,11 @@
+package com.online.store.repository;
+
+public interface FeatureKeyNode {
+
+    Long getId();
+
+    String getName();
+
+    Long getFeatureId();
+
+}
@@ -1,8 +1,10 @@
 package com.online.store.repository;
 
-import com.online.store.entity.Feature;
 import com.online.store.entity.FeatureKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +12,19 @@ import java.util.List;
 @Repository
 public interface FeatureKeyRepository extends JpaRepository<FeatureKey, Long> {
 
-    List<FeatureKey> findByFeature(Feature feature);
+    @Query("select k.id as id, k.name as name, f.id as featureId from FeatureKey k join k.feature f order by k.id")
+    List<FeatureKeyNode> findAllNodes();
+
+    @Modifying
+    @Query("update FeatureKey k set k.feature = null where k.feature.id = :featureId")
+    void detachFeature(@Param("featureId") Long featureId);
+
+    @Modifying
+    @Query(value = "delete from products_with_feature where feature_key_id = :id", nativeQuery = true)
+    void deleteProductLinks(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from FeatureKey k where k.id = :id")
+    int deleteFeatureKey(@Param("id") Long id);
 
 }
@@ -2,9 +2,16 @@ package com.online.store.repository;
 
 import com.online.store.entity.Feature;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FeatureRepository extends JpaRepository<Feature, Long> {
 
+    @Modifying
+    @Query("delete from Feature f where f.id = :id")
+    int deleteFeature(@Param("id") Long id);
+
 }
@@ -2,9 +2,17 @@ package com.online.store.repository;
 
 import com.online.store.entity.ProductFile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
 public interface FileRepository extends JpaRepository<ProductFile, Long> {
 
+    @Query("select distinct f.digest from ProductFile f where f.digest in :digests")
+    Set<String> findDigests(@Param("digests") Collection<String> digests);
+
 }
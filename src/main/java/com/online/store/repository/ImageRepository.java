@@ -2,9 +2,17 @@ package com.online.store.repository;
 
 import com.online.store.entity.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
 public interface ImageRepository extends JpaRepository<ProductImage, Long> {
 
+    @Query("select distinct i.digest from ProductImage i where i.digest in :digests")
+    Set<String> findDigests(@Param("digests") Collection<String> digests);
+
 }
@@ -2,9 +2,16 @@ package com.online.store.repository;
 
 import com.online.store.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    @Modifying
+    @Query("delete from Order o where o.id = :id")
+    int deleteOrder(@Param("id") Long id);
+
 }
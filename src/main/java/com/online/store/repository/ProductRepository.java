@@ -3,9 +3,25 @@ package com.online.store.repository;
 import com.online.store.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        SliceRepository<Product>, ProductResponseRepository {
+
+    @Modifying
+    @Query("update Product p set p.category = null where p.category.id = :categoryId")
+    void detachCategory(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query(value = "delete from users_favourite_products where product_id = :id", nativeQuery = true)
+    void deleteFavourites(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Product p where p.id = :id")
+    int deleteProduct(@Param("id") Long id);
 
 }
@@ -0,0 +1,101 @@
+package com.online.store.repository;
+
+import com.online.store.dto.response.ProductResponse;
+import com.online.store.entity.Product;
+import com.online.store.util.Constant;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class ProductRepositoryImpl extends AbstractSliceRepository<Product> implements ProductResponseRepository {
+
+    private static final String IDS = "ids";
+    private static final String SELECT_COLUMNS = "select p.id, p.name, p.codeUnit, p.isActive, p.maxPrice, " +
+            "p.price, p.description, c.id from Product p left join p.category c where p.id in :ids";
+    private static final String SCROLL_COLUMNS = "select p.id, p.name, p.codeUnit, p.isActive, p.maxPrice, " +
+            "p.price, p.description, c.id, f.id from Product p left join p.category c left join p.featureKeys f " +
+            "order by p.id";
+    private static final String SELECT_FEATURE_KEYS =
+            "select p.id, f.id from Product p join p.featureKeys f where p.id in :ids";
+    private static final String SELECT_IMAGES =
+            "select p.id, i.id from Product p join p.productImages i where p.id in :ids";
+    private static final String SELECT_FILES =
+            "select p.id, f.id from Product p join p.productFiles f where p.id in :ids";
+
+    public ProductRepositoryImpl() {
+        super(Product.class);
+    }
+
+    @Override
+    public List<ProductResponse> findResponsesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductResponse> responses = select(SELECT_COLUMNS, ids).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+        select(SELECT_FEATURE_KEYS, ids).forEach(row ->
+                responses.get((Long) row[0]).getFeatureKeysId().add((Long) row[1]));
+        select(SELECT_IMAGES, ids).forEach(row ->
+                responses.get((Long) row[0]).getImages().add((Long) row[1]));
+        select(SELECT_FILES, ids).forEach(row ->
+                responses.get((Long) row[0]).getFiles().add((Long) row[1]));
+        return ids.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void scrollResponses(int fetchSize, Consumer<ProductResponse> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults results = session.createQuery(SCROLL_COLUMNS)
+                .setReadOnly(true)
+                .setFetchSize(fetchSize)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            ProductResponse current = null;
+            while (results.next()) {
+                Object[] row = results.get();
+                if (current == null || !current.getId().equals(row[0])) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = toResponse(row);
+                }
+                if (row[8] != null) {
+                    current.getFeatureKeysId().add((Long) row[8]);
+                }
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+
+    private List<Object[]> select(String query, Collection<Long> ids) {
+        return entityManager.createQuery(query, Object[].class)
+                .setParameter(IDS, ids)
+                .getResultList();
+    }
+
+    private ProductResponse toResponse(Object[] row) {
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setId((Long) row[0]);
+        productResponse.setName((String) row[1]);
+        productResponse.setCodeUnit((String) row[2]);
+        productResponse.setIsActive((Boolean) row[3]);
+        productResponse.setMaxPrice((Integer) row[4]);
+        productResponse.setPrice((Integer) row[5]);
+        productResponse.setDescription((String) row[6]);
+        productResponse.setCategoryId(row[7] == null ? Constant.LONG_NULL : (Long) row[7]);
+        return productResponse;
+    }
+
+}
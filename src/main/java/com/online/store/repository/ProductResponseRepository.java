@@ -0,0 +1,15 @@
+package com.online.store.repository;
+
+import com.online.store.dto.response.ProductResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ProductResponseRepository {
+
+    List<ProductResponse> findResponsesByIds(Collection<Long> ids);
+
+    void scrollResponses(int fetchSize, Consumer<ProductResponse> consumer);
+
+}
@@ -0,0 +1,12 @@
+package com.online.store.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface SliceRepository<T> {
+
+    List<T> findSlice(Specification<T> specification, Sort sort, int limit);
+
+}
@@ -0,0 +1,21 @@
+package com.online.store.repository;
+
+import com.online.store.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation t where t.revokedBefore < :revokedBefore")
+    void deleteOlderThan(@Param("revokedBefore") LocalDateTime revokedBefore);
+
+}
@@ -1,14 +1,24 @@
 package com.online.store.repository;
 
 import com.online.store.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+import static com.online.store.util.Constant.ROLES;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @EntityGraph(attributePaths = ROLES)
     Optional<User> findUserByEmail(String email);
 
+    @Override
+    @EntityGraph(attributePaths = ROLES)
+    Optional<User> findById(Long id);
+
+    boolean existsByEmail(String email);
+
 }
@@ -0,0 +1,49 @@
+package com.online.store.repository.specification;
+
+import com.online.store.util.ContinuationToken;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+
+import static com.online.store.exception.InvalidTokenException.invalidTokenException;
+
+public class KeysetSpecification<T> implements Specification<T> {
+
+    public static final String ID = "id";
+
+    private final ContinuationToken continuationToken;
+
+    public KeysetSpecification(ContinuationToken continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        Path<Comparable> key = root.get(continuationToken.getSortBy());
+        Predicate afterId = criteriaBuilder.greaterThan(root.get(ID), continuationToken.getId());
+        if (continuationToken.getValue() == null) {
+            return criteriaBuilder.or(
+                    criteriaBuilder.and(criteriaBuilder.isNull(key), afterId),
+                    criteriaBuilder.isNotNull(key));
+        }
+        Comparable value = toKeyType(continuationToken.getValue(), key.getJavaType());
+        return criteriaBuilder.or(
+                criteriaBuilder.greaterThan(key, value),
+                criteriaBuilder.and(criteriaBuilder.equal(key, value), afterId));
+    }
+
+    private Comparable<?> toKeyType(String value, Class<?> type) {
+        try {
+            if (LocalDateTime.class.equals(type)) {
+                return LocalDateTime.parse(value);
+            }
+            return (Comparable<?>) DefaultConversionService.getSharedInstance().convert(value, type);
+        } catch (RuntimeException e) {
+            throw invalidTokenException(continuationToken.encode());
+        }
+    }
+
+}
@@ -1,13 +1,12 @@
 package com.online.store.repository.specification;
 
+import com.online.store.entity.Category;
+import com.online.store.entity.CategoryClosure;
 import com.online.store.entity.Product;
 import com.online.store.util.Constant;
 import org.springframework.data.jpa.domain.Specification;
 
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
+import javax.persistence.criteria.*;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,7 +41,7 @@ public class ProductSpecification implements Specification<Product> {
 
         predicateByParamCharacteristicValue(root, criteriaBuilder, predicates, feature);
 
-        predicateByParamChildCategory(root, criteriaBuilder, predicates, parentCategory);
+        predicateByParamChildCategory(root, query, criteriaBuilder, predicates, parentCategory);
 
         checkParameterName(root, criteriaBuilder, predicates);
 
@@ -82,11 +81,18 @@ public class ProductSpecification implements Specification<Product> {
         }
     }
 
-    private void predicateByParamChildCategory(Root<Product> root, CriteriaBuilder criteriaBuilder,
-                                                     List<Predicate> predicates, String field) {
+    private void predicateByParamChildCategory(Root<Product> root, CriteriaQuery<?> query,
+                                               CriteriaBuilder criteriaBuilder,
+                                               List<Predicate> predicates, String field) {
         if (!isBlank(field)) {
-            predicates.add(criteriaBuilder
-                    .equal(root.get(Constant.CATEGORY).get(Constant.PARENT_CATEGORY).get(Constant.NAME), field));
+            Subquery<Long> descendants = query.subquery(Long.class);
+            Root<CategoryClosure> closure = descendants.from(CategoryClosure.class);
+            Root<Category> ancestor = descendants.from(Category.class);
+            descendants.select(closure.get(Constant.DESCENDANT_ID)).where(
+                    criteriaBuilder.equal(closure.get(Constant.ANCESTOR_ID), ancestor.get(Constant.ID)),
+                    criteriaBuilder.equal(ancestor.get(Constant.NAME), field),
+                    criteriaBuilder.greaterThan(closure.get(Constant.DEPTH), 0));
+            predicates.add(root.get(Constant.CATEGORY).get(Constant.ID).in(descendants));
         }
     }
 
@@ -0,0 +1,75 @@
+package com.online.store.search;
+
+import com.online.store.repository.CategoryRepository;
+import com.online.store.util.CategoryConversionUtil;
+import com.online.store.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+@Slf4j
+@Component
+public class CategoryTree {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final AtomicReference<CategoryTreeSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "category-tree");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+
+    public Map<Long, CategoryConversionUtil> find(String name) {
+        CategoryTreeSnapshot current = snapshot.get();
+        if (current == null) {
+            rebuild();
+            current = snapshot.get();
+        }
+        return isBlank(name) ? current.getTree() : current.getSubtree(name);
+    }
+
+    public void refresh() {
+        TransactionUtil.afterCommit(() -> {
+            if (rebuildPending.compareAndSet(false, true)) {
+                executor.execute(() -> {
+                    rebuildPending.set(false);
+                    rebuild();
+                });
+            }
+        });
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${store.category-tree.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        try {
+            CategoryTreeSnapshot fresh = CategoryTreeSnapshot.of(categoryRepository.findAllNodes());
+            snapshot.set(fresh);
+            log.debug("Category tree rebuilt with {} categories", fresh.size());
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild category tree: {}", e.getMessage());
+            if (snapshot.get() == null) {
+                throw e;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
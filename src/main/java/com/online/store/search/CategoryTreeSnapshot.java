@@ -0,0 +1,76 @@
+package com.online.store.search;
+
+import com.online.store.dto.response.CategoryResponse;
+import com.online.store.repository.CategoryNode;
+import com.online.store.util.CategoryConversionUtil;
+import com.online.store.util.CategoryJsonStructure;
+import com.online.store.util.Constant;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+final class CategoryTreeSnapshot {
+
+    private final Map<Long, CategoryConversionUtil> nodesById;
+    private final Map<String, Map<Long, CategoryConversionUtil>> subtreesByName;
+
+    private CategoryTreeSnapshot(Map<Long, CategoryConversionUtil> nodesById,
+                                 Map<String, Map<Long, CategoryConversionUtil>> subtreesByName) {
+        this.nodesById = nodesById;
+        this.subtreesByName = subtreesByName;
+    }
+
+    static CategoryTreeSnapshot of(List<CategoryNode> categoryNodes) {
+        List<CategoryResponse> categories = categoryNodes.stream()
+                .map(CategoryTreeSnapshot::toResponse)
+                .collect(Collectors.toList());
+        Map<Long, CategoryConversionUtil> nodesById = new LinkedHashMap<>();
+        Map<Long, CategoryConversionUtil> json = new CategoryJsonStructure().getJson(categories);
+        categories.forEach(category -> nodesById.put(category.getId(), json.get(category.getId())));
+        nodesById.values().forEach(node -> node.setChildren(List.copyOf(node.getChildren())));
+
+        Map<Long, List<Long>> childIds = new HashMap<>();
+        categories.forEach(category -> childIds.computeIfAbsent(category.getParentCategoryId(),
+                id -> new ArrayList<>()).add(category.getId()));
+        Map<String, Map<Long, CategoryConversionUtil>> subtreesByName = new HashMap<>();
+        categories.forEach(category -> {
+            Map<Long, CategoryConversionUtil> subtree = subtreesByName.computeIfAbsent(normalize(category.getName()),
+                    name -> new LinkedHashMap<>());
+            Deque<Long> pending = new ArrayDeque<>(List.of(category.getId()));
+            while (!pending.isEmpty()) {
+                Long id = pending.poll();
+                if (subtree.putIfAbsent(id, nodesById.get(id)) == null) {
+                    pending.addAll(childIds.getOrDefault(id, Collections.emptyList()));
+                }
+            }
+        });
+        subtreesByName.replaceAll((name, subtree) -> Collections.unmodifiableMap(subtree));
+        return new CategoryTreeSnapshot(Collections.unmodifiableMap(nodesById), subtreesByName);
+    }
+
+    Map<Long, CategoryConversionUtil> getTree() {
+        return nodesById;
+    }
+
+    Map<Long, CategoryConversionUtil> getSubtree(String name) {
+        return subtreesByName.getOrDefault(normalize(name), Collections.emptyMap());
+    }
+
+    int size() {
+        return nodesById.size();
+    }
+
+    private static CategoryResponse toResponse(CategoryNode categoryNode) {
+        CategoryResponse categoryResponse = new CategoryResponse();
+        categoryResponse.setId(categoryNode.getId());
+        categoryResponse.setName(categoryNode.getName());
+        categoryResponse.setParentCategoryId(categoryNode.getParentId() == null
+                ? Constant.LONG_NULL : categoryNode.getParentId());
+        return categoryResponse;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+}
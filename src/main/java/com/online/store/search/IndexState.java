@@ -0,0 +1,304 @@
+package com.online.store.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+class IndexState {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String PERCENT = "%";
+
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    private final List<IndexedProduct> documents = new ArrayList<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    private final Map<String, RoaringBitmap> byName = new HashMap<>();
+    private final Map<String, RoaringBitmap> byToken = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byPrice = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byFeatureKey = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byImage = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byFile = new HashMap<>();
+
+    private final Map<Long, CategoryTerm> categories = new HashMap<>();
+    private final Map<String, Set<Long>> categoryIdsByName = new HashMap<>();
+    private final Map<Long, String> featureKeys = new HashMap<>();
+    private final Map<String, Set<Long>> featureKeyIdsByName = new HashMap<>();
+
+
+    void putProduct(IndexedProduct product) {
+        Integer docId = docIds.get(product.getId());
+        if (docId == null) {
+            docId = documents.size();
+            documents.add(product);
+            docIds.put(product.getId(), docId);
+        } else {
+            unlink(docId, documents.get(docId));
+            documents.set(docId, product);
+        }
+        link(docId, product);
+    }
+
+    void removeProduct(Long productId) {
+        Integer docId = docIds.remove(productId);
+        if (docId != null) {
+            unlink(docId, documents.get(docId));
+            documents.set(docId, null);
+        }
+    }
+
+    void putCategory(Long id, String name, Long parentId) {
+        removeTerm(categories.containsKey(id) ? categories.get(id).name : null, id, categoryIdsByName);
+        categories.put(id, new CategoryTerm(name, parentId));
+        addTerm(name, id, categoryIdsByName);
+    }
+
+    void removeCategory(Long id) {
+        CategoryTerm term = categories.remove(id);
+        if (term != null) {
+            removeTerm(term.name, id, categoryIdsByName);
+        }
+        RoaringBitmap docs = byCategory.get(id);
+        if (docs != null) {
+            docs.clone().forEach((int docId) -> putProduct(documents.get(docId).withoutCategory()));
+        }
+    }
+
+    void putFeatureKey(Long id, String name) {
+        removeTerm(featureKeys.get(id), id, featureKeyIdsByName);
+        featureKeys.put(id, name);
+        addTerm(name, id, featureKeyIdsByName);
+    }
+
+    void removeFeatureKey(Long id) {
+        removeTerm(featureKeys.remove(id), id, featureKeyIdsByName);
+        RoaringBitmap docs = byFeatureKey.get(id);
+        if (docs != null) {
+            docs.clone().forEach((int docId) -> putProduct(documents.get(docId).withoutFeatureKey(id)));
+        }
+    }
+
+    void removeImage(Long id) {
+        RoaringBitmap docs = byImage.get(id);
+        if (docs != null) {
+            docs.clone().forEach((int docId) -> putProduct(documents.get(docId).withoutImage(id)));
+        }
+    }
+
+    void removeFile(Long id) {
+        RoaringBitmap docs = byFile.get(id);
+        if (docs != null) {
+            docs.clone().forEach((int docId) -> putProduct(documents.get(docId).withoutFile(id)));
+        }
+    }
+
+    int size() {
+        return live.getCardinality();
+    }
+
+    RoaringBitmap find(String name, Integer price, String category, String feature, String parentCategory) {
+        RoaringBitmap result = live.clone();
+        if (price != null) {
+            result.and(orEmpty(byPrice.get(price)));
+        }
+        if (!isBlank(category)) {
+            result.and(union(byCategory, idsByName(categoryIdsByName, category)));
+        }
+        if (!isBlank(feature)) {
+            result.and(union(byFeatureKey, idsByName(featureKeyIdsByName, feature)));
+        }
+        if (!isBlank(parentCategory)) {
+            result.and(union(byCategory, descendantsOf(idsByName(categoryIdsByName, parentCategory))));
+        }
+        if (!isBlank(name)) {
+            result.and(name.contains(PERCENT) ? findByPattern(name) : orEmpty(byName.get(normalize(name))));
+        }
+        return result;
+    }
+
+    List<IndexedProduct> page(RoaringBitmap docs, Comparator<IndexedProduct> order, int offset, int limit) {
+        long window = (long) offset + limit;
+        if (limit <= 0 || offset >= docs.getCardinality()) {
+            return Collections.emptyList();
+        }
+        List<IndexedProduct> top;
+        if (window >= docs.getCardinality()) {
+            top = new ArrayList<>(docs.getCardinality());
+            docs.forEach((int docId) -> top.add(documents.get(docId)));
+        } else {
+            PriorityQueue<IndexedProduct> heap = new PriorityQueue<>((int) window + 1, order.reversed());
+            docs.forEach((int docId) -> {
+                heap.add(documents.get(docId));
+                if (heap.size() > window) {
+                    heap.poll();
+                }
+            });
+            top = new ArrayList<>(heap);
+        }
+        top.sort(order);
+        return top.subList(offset, (int) Math.min(window, top.size()));
+    }
+
+    private RoaringBitmap findByPattern(String pattern) {
+        String normalized = normalize(pattern);
+        RoaringBitmap candidates = live.clone();
+        for (String fragment : normalized.split("[%_]")) {
+            for (String piece : tokenize(fragment)) {
+                RoaringBitmap withPiece = new RoaringBitmap();
+                byToken.forEach((token, docs) -> {
+                    if (token.contains(piece)) {
+                        withPiece.or(docs);
+                    }
+                });
+                candidates.and(withPiece);
+            }
+        }
+        Pattern like = toRegex(normalized);
+        RoaringBitmap result = new RoaringBitmap();
+        candidates.forEach((int docId) -> {
+            if (like.matcher(normalize(documents.get(docId).getName())).matches()) {
+                result.add(docId);
+            }
+        });
+        return result;
+    }
+
+    private Set<Long> descendantsOf(Set<Long> ancestorIds) {
+        Map<Long, List<Long>> children = new HashMap<>();
+        categories.forEach((id, term) -> {
+            if (term.parentId != null) {
+                children.computeIfAbsent(term.parentId, k -> new ArrayList<>()).add(id);
+            }
+        });
+        Set<Long> descendants = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>(ancestorIds);
+        while (!pending.isEmpty()) {
+            for (Long child : children.getOrDefault(pending.poll(), Collections.emptyList())) {
+                if (descendants.add(child)) {
+                    pending.add(child);
+                }
+            }
+        }
+        return descendants;
+    }
+
+    private void link(int docId, IndexedProduct product) {
+        live.add(docId);
+        addPosting(byName, normalize(product.getName()), docId);
+        tokenize(normalize(product.getName())).forEach(token -> addPosting(byToken, token, docId));
+        addPosting(byPrice, product.getPrice(), docId);
+        if (product.hasCategory()) {
+            addPosting(byCategory, product.getCategoryId(), docId);
+        }
+        product.getFeatureKeysId().forEach(featureKeyId -> addPosting(byFeatureKey, featureKeyId, docId));
+        product.getImages().forEach(imageId -> addPosting(byImage, imageId, docId));
+        product.getFiles().forEach(fileId -> addPosting(byFile, fileId, docId));
+    }
+
+    private void unlink(int docId, IndexedProduct product) {
+        live.remove(docId);
+        removePosting(byName, normalize(product.getName()), docId);
+        tokenize(normalize(product.getName())).forEach(token -> removePosting(byToken, token, docId));
+        removePosting(byPrice, product.getPrice(), docId);
+        if (product.hasCategory()) {
+            removePosting(byCategory, product.getCategoryId(), docId);
+        }
+        product.getFeatureKeysId().forEach(featureKeyId -> removePosting(byFeatureKey, featureKeyId, docId));
+        product.getImages().forEach(imageId -> removePosting(byImage, imageId, docId));
+        product.getFiles().forEach(fileId -> removePosting(byFile, fileId, docId));
+    }
+
+    private static <K> void addPosting(Map<K, RoaringBitmap> postings, K key, int docId) {
+        if (key != null) {
+            postings.computeIfAbsent(key, k -> new RoaringBitmap()).add(docId);
+        }
+    }
+
+    private static <K> void removePosting(Map<K, RoaringBitmap> postings, K key, int docId) {
+        RoaringBitmap docs = key == null ? null : postings.get(key);
+        if (docs != null) {
+            docs.remove(docId);
+            if (docs.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static void addTerm(String name, Long id, Map<String, Set<Long>> idsByName) {
+        if (name != null) {
+            idsByName.computeIfAbsent(normalize(name), k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private static void removeTerm(String name, Long id, Map<String, Set<Long>> idsByName) {
+        Set<Long> ids = name == null ? null : idsByName.get(normalize(name));
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByName.remove(normalize(name));
+            }
+        }
+    }
+
+    private static Set<Long> idsByName(Map<String, Set<Long>> idsByName, String name) {
+        return idsByName.getOrDefault(normalize(name), Collections.emptySet());
+    }
+
+    private static RoaringBitmap union(Map<Long, RoaringBitmap> postings, Set<Long> keys) {
+        RoaringBitmap result = new RoaringBitmap();
+        keys.forEach(key -> result.or(orEmpty(postings.get(key))));
+        return result;
+    }
+
+    private static RoaringBitmap orEmpty(RoaringBitmap docs) {
+        return docs == null ? new RoaringBitmap() : docs;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> tokenize(String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(value)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Pattern toRegex(String likePattern) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : likePattern.toCharArray()) {
+            if (c == '%' || c == '_') {
+                regex.append(Pattern.quote(literal.toString())).append(c == '%' ? ".*" : ".");
+                literal.setLength(0);
+            } else {
+                literal.append(c);
+            }
+        }
+        regex.append(Pattern.quote(literal.toString()));
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static final class CategoryTerm {
+
+        private final String name;
+        private final Long parentId;
+
+        private CategoryTerm(String name, Long parentId) {
+            this.name = name;
+            this.parentId = parentId;
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.online.store.search;
+
+import com.online.store.dto.response.ProductResponse;
+import com.online.store.entity.Product;
+import com.online.store.util.Constant;
+import com.online.store.util.ProductConversionUtil;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Getter
+public final class IndexedProduct {
+
+    private final Long id;
+    private final String name;
+    private final String codeUnit;
+    private final Boolean isActive;
+    private final Integer maxPrice;
+    private final Integer price;
+    private final String description;
+    private final LocalDateTime createDate;
+    private final Long categoryId;
+    private final List<Long> featureKeysId;
+    private final List<Long> images;
+    private final List<Long> files;
+
+    private IndexedProduct(ProductResponse productResponse, LocalDateTime createDate) {
+        this.id = productResponse.getId();
+        this.name = productResponse.getName();
+        this.codeUnit = productResponse.getCodeUnit();
+        this.isActive = productResponse.getIsActive();
+        this.maxPrice = productResponse.getMaxPrice();
+        this.price = productResponse.getPrice();
+        this.description = productResponse.getDescription();
+        this.createDate = createDate;
+        this.categoryId = productResponse.getCategoryId();
+        this.featureKeysId = List.copyOf(productResponse.getFeatureKeysId());
+        this.images = List.copyOf(productResponse.getImages());
+        this.files = List.copyOf(productResponse.getFiles());
+    }
+
+    public static IndexedProduct of(Product product) {
+        return new IndexedProduct(new ProductConversionUtil().fromProduct(product), product.getCreateDate());
+    }
+
+    public static IndexedProduct of(ProductResponse productResponse, LocalDateTime createDate) {
+        return new IndexedProduct(productResponse, createDate);
+    }
+
+    public boolean hasCategory() {
+        return categoryId != null && !Constant.LONG_NULL.equals(categoryId);
+    }
+
+    public IndexedProduct withoutCategory() {
+        ProductResponse productResponse = toResponse();
+        productResponse.setCategoryId(Constant.LONG_NULL);
+        return new IndexedProduct(productResponse, createDate);
+    }
+
+    public IndexedProduct withoutFeatureKey(Long featureKeyId) {
+        ProductResponse productResponse = toResponse();
+        productResponse.setFeatureKeysId(without(featureKeysId, featureKeyId::equals));
+        return new IndexedProduct(productResponse, createDate);
+    }
+
+    public IndexedProduct withoutImage(Long imageId) {
+        ProductResponse productResponse = toResponse();
+        productResponse.setImages(without(images, imageId::equals));
+        return new IndexedProduct(productResponse, createDate);
+    }
+
+    public IndexedProduct withoutFile(Long fileId) {
+        ProductResponse productResponse = toResponse();
+        productResponse.setFiles(without(files, fileId::equals));
+        return new IndexedProduct(productResponse, createDate);
+    }
+
+    public ProductResponse toResponse() {
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setId(id);
+        productResponse.setName(name);
+        productResponse.setCodeUnit(codeUnit);
+        productResponse.setIsActive(isActive);
+        productResponse.setMaxPrice(maxPrice);
+        productResponse.setPrice(price);
+        productResponse.setDescription(description);
+        productResponse.setCategoryId(categoryId);
+        productResponse.setFeatureKeysId(new ArrayList<>(featureKeysId));
+        productResponse.setImages(new ArrayList<>(images));
+        productResponse.setFiles(new ArrayList<>(files));
+        return productResponse;
+    }
+
+    private static List<Long> without(List<Long> ids, Predicate<Long> removed) {
+        return ids.stream()
+                .filter(removed.negate())
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.online.store.search;
+
+import com.online.store.dto.request.ProductFindRequest;
+import com.online.store.dto.response.ProductResponse;
+import com.online.store.entity.Category;
+import com.online.store.entity.FeatureKey;
+import com.online.store.entity.Product;
+import com.online.store.repository.CategoryRepository;
+import com.online.store.repository.FeatureKeyRepository;
+import com.online.store.repository.ProductRepository;
+import com.online.store.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final String ID = "id";
+
+    private static final Map<String, Comparator<IndexedProduct>> SORTS = Map.of(
+            ID, by(IndexedProduct::getId),
+            "name", by(IndexedProduct::getName, String.CASE_INSENSITIVE_ORDER),
+            "codeUnit", by(IndexedProduct::getCodeUnit, String.CASE_INSENSITIVE_ORDER),
+            "description", by(IndexedProduct::getDescription, String.CASE_INSENSITIVE_ORDER),
+            "price", by(IndexedProduct::getPrice),
+            "maxPrice", by(IndexedProduct::getMaxPrice),
+            "isActive", by(IndexedProduct::getIsActive),
+            "createDate", by(IndexedProduct::getCreateDate));
+
+    @Value("${store.search.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private FeatureKeyRepository featureKeyRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state;
+    private List<Consumer<IndexState>> pendingChanges;
+
+
+    public Optional<List<ProductResponse>> search(ProductFindRequest productFindRequest) {
+        Comparator<IndexedProduct> order = SORTS.get(productFindRequest.getSortBy());
+        if (!enabled || order == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (state == null) {
+                return Optional.empty();
+            }
+            RoaringBitmap docs = state.find(productFindRequest.getName(), productFindRequest.getPrice(),
+                    productFindRequest.getCategory(), productFindRequest.getFeature(),
+                    productFindRequest.getParentCategory());
+            int offset = productFindRequest.getPageNumber() * productFindRequest.getPageSize();
+            return Optional.of(state.page(docs, order, offset, productFindRequest.getPageSize()).stream()
+                    .map(IndexedProduct::toResponse)
+                    .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        IndexedProduct indexedProduct = IndexedProduct.of(product);
+        onCommit(state -> state.putProduct(indexedProduct));
+    }
+
+    public void indexAll(List<ProductResponse> productResponses, LocalDateTime createDate) {
+        List<IndexedProduct> indexedProducts = productResponses.stream()
+                .map(productResponse -> IndexedProduct.of(productResponse, createDate))
+                .collect(Collectors.toList());
+        onCommit(state -> indexedProducts.forEach(state::putProduct));
+    }
+
+    public void remove(Long productId) {
+        onCommit(state -> state.removeProduct(productId));
+    }
+
+    public void indexCategory(Category category) {
+        Long id = category.getId();
+        String name = category.getName();
+        Long parentId = parentId(category);
+        onCommit(state -> state.putCategory(id, name, parentId));
+    }
+
+    public void removeCategory(Long categoryId) {
+        onCommit(state -> state.removeCategory(categoryId));
+    }
+
+    public void indexFeatureKey(FeatureKey featureKey) {
+        Long id = featureKey.getId();
+        String name = featureKey.getName();
+        onCommit(state -> state.putFeatureKey(id, name));
+    }
+
+    public void removeFeatureKey(Long featureKeyId) {
+        onCommit(state -> state.removeFeatureKey(featureKeyId));
+    }
+
+    public void removeImage(Long imageId) {
+        onCommit(state -> state.removeImage(imageId));
+    }
+
+    public void removeFile(Long fileId) {
+        onCommit(state -> state.removeFile(fileId));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${store.search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        IndexState fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild product search index: {}", e.getMessage());
+            fresh = null;
+        }
+        publish(fresh);
+    }
+
+    private void publish(IndexState fresh) {
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                pendingChanges.forEach(change -> change.accept(fresh));
+                state = fresh;
+                log.info("Product search index rebuilt with {} products", fresh.size());
+            }
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private IndexState load() {
+        IndexState fresh = new IndexState();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryRepository.findAll().forEach(category ->
+                    fresh.putCategory(category.getId(), category.getName(), parentId(category)));
+            featureKeyRepository.findAll().forEach(featureKey ->
+                    fresh.putFeatureKey(featureKey.getId(), featureKey.getName()));
+        });
+        Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by(ID));
+        while (pageable.isPaged()) {
+            Pageable current = pageable;
+            Slice<Product> products = transactionTemplate.execute(status -> {
+                Slice<Product> slice = productRepository.findAll(current);
+                Map<Long, LocalDateTime> createDates = new HashMap<>();
+                slice.forEach(product -> createDates.put(product.getId(), product.getCreateDate()));
+                productRepository.findResponsesByIds(createDates.keySet()).forEach(productResponse ->
+                        fresh.putProduct(IndexedProduct.of(productResponse, createDates.get(productResponse.getId()))));
+                return slice;
+            });
+            pageable = Objects.requireNonNull(products).nextPageable();
+        }
+        return fresh;
+    }
+
+    private void onCommit(Consumer<IndexState> change) {
+        if (enabled) {
+            TransactionUtil.afterCommit(() -> apply(change));
+        }
+    }
+
+    private void apply(Consumer<IndexState> change) {
+        lock.writeLock().lock();
+        try {
+            if (state != null) {
+                change.accept(state);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Long parentId(Category category) {
+        return category.getParentCategory() == null ? null : category.getParentCategory().getId();
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<IndexedProduct> by(
+            Function<IndexedProduct, T> key) {
+        return by(key, Comparator.naturalOrder());
+    }
+
+    private static <T> Comparator<IndexedProduct> by(Function<IndexedProduct, T> key, Comparator<T> order) {
+        return Comparator.comparing(key, Comparator.nullsFirst(order))
+                .thenComparing(IndexedProduct::getId);
+    }
+
+}
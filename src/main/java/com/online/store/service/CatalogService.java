@@ -0,0 +1,16 @@
+package com.online.store.service;
+
+import com.online.store.catalog.CatalogFormat;
+import com.online.store.dto.response.CatalogImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface CatalogService {
+
+    CatalogImportResponse importProducts(InputStream inputStream, CatalogFormat format);
+
+    void exportProducts(OutputStream outputStream, CatalogFormat format) throws IOException;
+
+}
@@ -3,9 +3,12 @@ package com.online.store.service;
 import com.online.store.dto.request.CategoryFindRequest;
 import com.online.store.dto.request.CategoryRequest;
 import com.online.store.dto.response.CategoryResponse;
+import com.online.store.dto.response.SliceResponse;
 import com.online.store.entity.Category;
+import com.online.store.util.CategoryConversionUtil;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CategoryService {
 
@@ -21,4 +24,8 @@ public interface CategoryService {
 
     List<CategoryResponse> findAll(CategoryFindRequest categoryFindRequest);
 
+    SliceResponse<CategoryResponse> findSlice(CategoryFindRequest categoryFindRequest);
+
+    Map<Long, CategoryConversionUtil> findTree(CategoryFindRequest categoryFindRequest);
+
 }
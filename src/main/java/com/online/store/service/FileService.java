@@ -1,13 +1,26 @@
 package com.online.store.service;
 
+import com.online.store.dto.response.FileUploadResponse;
 import com.online.store.entity.ProductFile;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 public interface FileService {
 
     void saveProductFile(MultipartFile file);
 
+    FileUploadResponse initiateUpload(String name, long size);
+
+    FileUploadResponse findUpload(String uploadId);
+
+    void uploadPart(String uploadId, int index, String digest, InputStream inputStream);
+
+    Long commitUpload(String uploadId);
+
+    void abortUpload(String uploadId);
+
     Resource findFileById(Long id);
 
     ProductFile getProductFileFromDB(Long id);
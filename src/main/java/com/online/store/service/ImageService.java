@@ -1,14 +1,19 @@
 package com.online.store.service;
 
 import com.online.store.entity.ProductImage;
+import com.online.store.image.ImageVariant;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface ImageService {
 
     void saveProductImages(MultipartFile file);
 
-    Resource findImagesById(Long id);
+    List<Long> saveProductImages(List<MultipartFile> files);
+
+    Resource findImagesById(Long id, ImageVariant size);
 
     ProductImage getProductImageFromDB(Long id);
 
@@ -3,6 +3,7 @@ package com.online.store.service;
 import com.online.store.dto.request.ProductFindRequest;
 import com.online.store.dto.request.ProductRequest;
 import com.online.store.dto.response.ProductResponse;
+import com.online.store.dto.response.SliceResponse;
 import com.online.store.entity.Product;
 
 import java.util.List;
@@ -25,4 +26,6 @@ public interface ProductService {
 
     List<ProductResponse> findProductsByParam(ProductFindRequest productFindRequest);
 
+    SliceResponse<ProductResponse> findProductsSlice(ProductFindRequest productFindRequest);
+
 }
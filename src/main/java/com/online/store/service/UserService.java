@@ -4,7 +4,6 @@ import com.online.store.dto.request.UserRequest;
 import com.online.store.dto.request.UserLoginRequest;
 import com.online.store.dto.response.UserLoginResponse;
 import com.online.store.dto.response.UserResponse;
-import com.online.store.entity.Order;
 import com.online.store.entity.User;
 
 import java.util.List;
@@ -27,6 +26,5 @@ public interface UserService {
 
     void deleteUser(Long id);
 
-    void setOrderToUser(Long id, Order order);
 
 }
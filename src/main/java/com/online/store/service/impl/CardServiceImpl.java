@@ -12,8 +12,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static com.online.store.exception.NotFoundException.notFoundException;
 import static com.online.store.util.MessagesErrors.CHANGE_PERMISSION;
@@ -47,6 +47,7 @@ public class CardServiceImpl implements CardService {
         return getCardResponse(card);
     }
 
+    @Transactional
     @Override
     public void deleteCard(Long id) {
         Card card = cardRepository.findById(id).orElseThrow(() -> notFoundException(Constant.CARD));
@@ -56,8 +57,16 @@ public class CardServiceImpl implements CardService {
 
     @Override
     public List<Card> findAllCards(List<Long> cardListId) {
-        List<Card> cardList = cardListId.stream().map(cardRepository::getById).collect(Collectors.toList());
-        cardList.forEach(card -> card.setIsActive(false));
+        List<Card> cardList = cardRepository.findAllById(cardListId);
+        if (cardList.size() != new HashSet<>(cardListId).size()) {
+            throw notFoundException(Constant.CARD + cardListId);
+        }
+        cardList.forEach(card -> {
+            if (Boolean.FALSE.equals(card.getIsActive())) {
+                throw new UnauthorizedAccessException(CHANGE_PERMISSION);
+            }
+            card.setIsActive(false);
+        });
         return cardList;
     }
 
@@ -70,6 +79,7 @@ public class CardServiceImpl implements CardService {
         card.setProduct(productService.findProductByIdFromDB(cardRequest.getProductId()));
         card.getProduct().addCard(card);
         card.setQuantity(cardRequest.getQuantity());
+        card.setIsActive(true);
         card.setTotal(getTotal(card, card.getQuantity()));
         return card;
     }
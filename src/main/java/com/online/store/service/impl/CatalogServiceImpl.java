@@ -0,0 +1,365 @@
+package com.online.store.service.impl;
+
+import com.online.store.catalog.CatalogDictionary;
+import com.online.store.catalog.CatalogFormat;
+import com.online.store.catalog.CatalogRow;
+import com.online.store.dto.request.CategoryRequest;
+import com.online.store.dto.request.FeatureRequest;
+import com.online.store.dto.response.CatalogImportResponse;
+import com.online.store.dto.response.ProductResponse;
+import com.online.store.entity.Product;
+import com.online.store.repository.CatalogRepository;
+import com.online.store.repository.CategoryRepository;
+import com.online.store.repository.FeatureKeyRepository;
+import com.online.store.repository.FeatureRepository;
+import com.online.store.repository.ProductRepository;
+import com.online.store.search.ProductSearchIndex;
+import com.online.store.service.CatalogService;
+import com.online.store.service.CategoryService;
+import com.online.store.service.FeatureService;
+import com.online.store.util.Constant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.online.store.exception.FileStoreException.readFileException;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+@Slf4j
+@Service
+public class CatalogServiceImpl implements CatalogService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    @Value("${store.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${store.import.parallelism:0}")
+    private int parallelism;
+    @Value("${store.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private FeatureRepository featureRepository;
+    @Autowired
+    private FeatureKeyRepository featureKeyRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private FeatureService featureService;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private Validator validator;
+
+    private ExecutorService executor;
+
+
+    @PostConstruct
+    public void init() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public CatalogImportResponse importProducts(InputStream inputStream, CatalogFormat format) {
+        CatalogImportResponse catalogImportResponse = new CatalogImportResponse();
+        CatalogDictionary dictionary = getDictionary();
+        Deque<Future<List<CatalogRow>>> parsing = new ArrayDeque<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            CatalogFormat.CatalogParser parser = format.parser(format.hasHeader() ? reader.readLine() : null);
+            if (format.hasHeader()) {
+                lineNumber++;
+            }
+            List<String> records = new ArrayList<>(chunkSize);
+            List<Long> recordLines = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                recordLines.add(++lineNumber);
+                StringBuilder record = new StringBuilder(line);
+                boolean open = format.isOpenAfter(line, false);
+                while (open && (line = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(line);
+                    open = format.isOpenAfter(line, true);
+                }
+                records.add(record.toString());
+                if (records.size() == chunkSize) {
+                    parsing.add(submit(parser, records, recordLines));
+                    records = new ArrayList<>(chunkSize);
+                    recordLines = new ArrayList<>(chunkSize);
+                }
+                if (parsing.size() > 2 * parallelism) {
+                    write(take(parsing.poll()), dictionary, catalogImportResponse);
+                }
+            }
+            if (!records.isEmpty()) {
+                parsing.add(submit(parser, records, recordLines));
+            }
+            while (!parsing.isEmpty()) {
+                write(take(parsing.poll()), dictionary, catalogImportResponse);
+            }
+        } catch (IOException e) {
+            throw readFileException(e.getMessage());
+        } finally {
+            parsing.forEach(future -> future.cancel(true));
+        }
+        log.info("Imported {} products, rejected {}", catalogImportResponse.getImported(),
+                catalogImportResponse.getRejected());
+        return catalogImportResponse;
+    }
+
+    @Override
+    public void exportProducts(OutputStream outputStream, CatalogFormat format) throws IOException {
+        CatalogDictionary dictionary = getDictionary();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format.header() != null) {
+            writer.write(format.header());
+            writer.write(System.lineSeparator());
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            transactionTemplate.executeWithoutResult(status -> productRepository.scrollResponses(fetchSize,
+                    productResponse -> {
+                        try {
+                            writer.write(format.format(getCatalogRow(productResponse, dictionary)));
+                            writer.write(System.lineSeparator());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private CatalogDictionary getDictionary() {
+        return new CatalogDictionary(categoryRepository.findAllNodes(),
+                featureRepository.findAll(Sort.by(Sort.Direction.ASC, Constant.ID)), featureKeyRepository.findAllNodes());
+    }
+
+    private Future<List<CatalogRow>> submit(CatalogFormat.CatalogParser parser, List<String> records,
+                                            List<Long> recordLines) {
+        return executor.submit(() -> parse(parser, records, recordLines));
+    }
+
+    private List<CatalogRow> parse(CatalogFormat.CatalogParser parser, List<String> records, List<Long> recordLines) {
+        List<CatalogRow> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (isBlank(records.get(i))) {
+                continue;
+            }
+            CatalogRow row;
+            try {
+                row = parser.parse(records.get(i));
+                row.setError(validate(row));
+            } catch (RuntimeException e) {
+                row = new CatalogRow();
+                row.setError(e.getMessage());
+            }
+            row.setLine(recordLines.get(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private String validate(CatalogRow row) {
+        Set<ConstraintViolation<CatalogRow>> violations = validator.validate(row);
+        return violations.isEmpty() ? null : violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private List<CatalogRow> take(Future<List<CatalogRow>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw readFileException(e.getMessage());
+        } catch (ExecutionException e) {
+            throw readFileException(e.getCause().getMessage());
+        }
+    }
+
+    private void write(List<CatalogRow> rows, CatalogDictionary dictionary, CatalogImportResponse response) {
+        List<CatalogRow> accepted = new ArrayList<>(rows.size());
+        for (CatalogRow row : rows) {
+            if (!row.isRejected()) {
+                resolve(row, dictionary);
+            }
+            if (row.isRejected()) {
+                reject(response, row.getLine() + ": " + row.getError(), 1);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        long firstId = catalogRepository.reserveIds(Product.class, accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).setId(firstId + i);
+        }
+        LocalDateTime createDate = LocalDateTime.now();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                catalogRepository.insertProducts(accepted, createDate);
+                productSearchIndex.indexAll(accepted.stream()
+                        .map(this::getProductResponse)
+                        .collect(Collectors.toList()), createDate);
+            });
+            response.setImported(response.getImported() + accepted.size());
+        } catch (DataAccessException e) {
+            reject(response, accepted.get(0).getLine() + "-" + accepted.get(accepted.size() - 1).getLine()
+                    + ": " + e.getMostSpecificCause().getMessage(), accepted.size());
+        }
+    }
+
+    private void resolve(CatalogRow row, CatalogDictionary dictionary) {
+        try {
+            Long categoryId = null;
+            for (String name : row.getCategory().split(Pattern.quote(CatalogFormat.CATEGORY_SEPARATOR))) {
+                categoryId = getCategoryId(dictionary, categoryId, checkName(name));
+            }
+            row.setCategoryId(categoryId);
+            Set<Long> featureKeysId = new LinkedHashSet<>();
+            for (String feature : row.getFeatures()) {
+                String[] pair = feature.split(Pattern.quote(CatalogFormat.FEATURE_KEY_SEPARATOR), 2);
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("feature " + feature + " is not in the form feature"
+                            + CatalogFormat.FEATURE_KEY_SEPARATOR + "value");
+                }
+                Long featureId = getFeatureId(dictionary, checkName(pair[0]));
+                featureKeysId.add(getFeatureKeyId(dictionary, featureId, checkName(pair[1])));
+            }
+            row.setFeatureKeysId(new ArrayList<>(featureKeysId));
+        } catch (RuntimeException e) {
+            row.setError(e.getMessage());
+        }
+    }
+
+    private Long getCategoryId(CatalogDictionary dictionary, Long parentId, String name) {
+        Long id = dictionary.getCategory(parentId, name);
+        if (id == null) {
+            CategoryRequest categoryRequest = new CategoryRequest();
+            categoryRequest.setName(name);
+            categoryRequest.setParentCategoryId(parentId);
+            id = categoryService.createCategory(categoryRequest).getId();
+            dictionary.putCategory(parentId, name, id);
+        }
+        return id;
+    }
+
+    private Long getFeatureId(CatalogDictionary dictionary, String name) {
+        Long id = dictionary.getFeature(name);
+        if (id == null) {
+            id = featureService.createFeature(getFeatureRequest(name)).getId();
+            dictionary.putFeature(name, id);
+        }
+        return id;
+    }
+
+    private Long getFeatureKeyId(CatalogDictionary dictionary, Long featureId, String name) {
+        Long id = dictionary.getFeatureKey(featureId, name);
+        if (id == null) {
+            id = featureService.createFeatureKey(featureId, getFeatureRequest(name)).getId();
+            dictionary.putFeatureKey(featureId, name, id);
+        }
+        return id;
+    }
+
+    private FeatureRequest getFeatureRequest(String name) {
+        FeatureRequest featureRequest = new FeatureRequest();
+        featureRequest.setName(name);
+        return featureRequest;
+    }
+
+    private String checkName(String name) {
+        String trimmed = name.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("name '" + name + "' must have 1 to " + MAX_NAME_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+
+    private void reject(CatalogImportResponse response, String error, int count) {
+        response.setRejected(response.getRejected() + count);
+        if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+            response.getErrors().add(error);
+        }
+    }
+
+    private CatalogRow getCatalogRow(ProductResponse productResponse, CatalogDictionary dictionary) {
+        CatalogRow row = new CatalogRow();
+        row.setName(productResponse.getName());
+        row.setCodeUnit(productResponse.getCodeUnit());
+        row.setIsActive(productResponse.getIsActive());
+        row.setMaxPrice(productResponse.getMaxPrice());
+        row.setPrice(productResponse.getPrice());
+        row.setDescription(productResponse.getDescription());
+        row.setCategory(dictionary.getCategoryPath(productResponse.getCategoryId()));
+        row.setFeatures(productResponse.getFeatureKeysId().stream()
+                .map(dictionary::getFeatureLabel)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        return row;
+    }
+
+    private ProductResponse getProductResponse(CatalogRow row) {
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setId(row.getId());
+        productResponse.setName(row.getName());
+        productResponse.setCodeUnit(row.getCodeUnit());
+        productResponse.setIsActive(row.getIsActive());
+        productResponse.setMaxPrice(row.getMaxPrice());
+        productResponse.setPrice(row.getPrice());
+        productResponse.setDescription(row.getDescription());
+        productResponse.setCategoryId(row.getCategoryId());
+        productResponse.setFeatureKeysId(row.getFeatureKeysId());
+        return productResponse;
+    }
+
+}
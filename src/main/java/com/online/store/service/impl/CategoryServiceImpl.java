@@ -1,22 +1,38 @@
 package com.online.store.service.impl;
 
+import com.online.store.cache.CacheInvalidator;
 import com.online.store.dto.request.CategoryFindRequest;
 import com.online.store.dto.request.CategoryRequest;
 import com.online.store.dto.response.CategoryResponse;
+import com.online.store.dto.response.SliceResponse;
 import com.online.store.entity.Category;
+import com.online.store.repository.CategoryClosureRepository;
 import com.online.store.repository.CategoryRepository;
+import com.online.store.repository.ProductRepository;
 import com.online.store.repository.specification.CategorySpecification;
+import com.online.store.repository.specification.KeysetSpecification;
+import com.online.store.search.CategoryTree;
+import com.online.store.search.ProductSearchIndex;
 import com.online.store.service.CategoryService;
+import com.online.store.util.CategoryConversionUtil;
 import com.online.store.util.Constant;
+import com.online.store.util.ContinuationToken;
+import com.online.store.util.SliceConversionUtil;
 import com.online.store.util.ValidationUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static com.online.store.exception.AlreadyExistException.isExistsException;
 import static com.online.store.exception.NotFoundException.notFoundException;
 
 @Service
@@ -24,30 +40,68 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Autowired
     private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private CategoryTree categoryTree;
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
 
 
+    @Transactional
     @Override
     public CategoryResponse createCategory(CategoryRequest categoryRequest) {
         Category category = getCategory(new Category(), categoryRequest);
         categoryRepository.save(category);
+        categoryClosureRepository.insertSelf(category.getId());
+        if (category.getParentCategory() != null) {
+            categoryClosureRepository.linkSubtree(category.getId(), category.getParentCategory().getId());
+        }
+        productSearchIndex.indexCategory(category);
+        categoryTree.refresh();
         return getCategoryResponse(category);
     }
 
+    @Transactional
     @Override
     public CategoryResponse modifyCategory(Long id, CategoryRequest categoryRequest) {
         Category category = findByIdFromDB(id);
+        Long parentCategoryId = getParentCategoryId(category);
         getCategory(category, categoryRequest);
+        if (!Objects.equals(getParentCategoryId(category), parentCategoryId)) {
+            moveSubtree(id, getParentCategoryId(category));
+        }
         categoryRepository.save(category);
+        productSearchIndex.indexCategory(category);
+        categoryTree.refresh();
+        cacheInvalidator.evict(Constant.CATEGORY_CACHE, id);
         return getCategoryResponse(category);
     }
 
+    @Transactional
     @Override
     public void deleteCategory(Long id) {
-        Category category = findByIdFromDB(id);
-        category.getProductList().forEach(category::removeProduct);
-        categoryRepository.delete(category);
+        productRepository.detachCategory(id);
+        List<Category> children = categoryRepository.findChildren(id);
+        if (!children.isEmpty()) {
+            categoryClosureRepository.unlinkSubtree(categoryClosureRepository.findDescendantIds(id));
+        }
+        categoryClosureRepository.deleteCategory(id);
+        children.forEach(this::reparent);
+        if (categoryRepository.deleteCategory(id) == 0) {
+            throw notFoundException(Constant.CATEGORY + id);
+        }
+        productSearchIndex.removeCategory(id);
+        categoryTree.refresh();
+        cacheInvalidator.evict(Constant.CATEGORY_CACHE, id);
+        cacheInvalidator.clear(Constant.PRODUCT_CACHE);
     }
 
+    @Cacheable(cacheNames = Constant.CATEGORY_CACHE, key = "#id")
     @Override
     public CategoryResponse findById(Long id) {
         return getCategoryResponse(findByIdFromDB(id));
@@ -69,6 +123,53 @@ public class CategoryServiceImpl implements CategoryService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public SliceResponse<CategoryResponse> findSlice(CategoryFindRequest categoryFindRequest) {
+        int pageSize = SliceConversionUtil.checkPageSize(categoryFindRequest.getPageSize());
+        String sortBy = categoryFindRequest.getSortBy();
+        Specification<Category> specification = Specification.where(new CategorySpecification(
+                categoryFindRequest.getParentCategory(), categoryFindRequest.getName()));
+        if (categoryFindRequest.getContinuationToken() != null) {
+            specification = specification.and(new KeysetSpecification<>(
+                    ContinuationToken.decode(categoryFindRequest.getContinuationToken(), sortBy)));
+        }
+        List<Category> categories = categoryRepository.findSlice(specification,
+                Sort.by(Sort.Direction.ASC, sortBy, KeysetSpecification.ID), pageSize + 1);
+        return new SliceConversionUtil().fromEntities(categories, pageSize, sortBy,
+                categoryList -> categoryList.stream()
+                        .map(this::getCategoryResponse)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Map<Long, CategoryConversionUtil> findTree(CategoryFindRequest categoryFindRequest) {
+        return categoryTree.find(categoryFindRequest.getName());
+    }
+
+    private void moveSubtree(Long id, Long parentId) {
+        List<Long> subtree = categoryClosureRepository.findDescendantIds(id);
+        if (subtree.contains(parentId)) {
+            throw isExistsException(Constant.CATEGORY + parentId + " in subtree of " + Constant.CATEGORY + id);
+        }
+        categoryClosureRepository.unlinkSubtree(subtree);
+        categoryClosureRepository.linkSubtree(id, parentId);
+    }
+
+    private void reparent(Category child) {
+        Category parentCategory = child.getParentCategory().getParentCategory();
+        child.setParentCategory(parentCategory);
+        categoryRepository.save(child);
+        if (parentCategory != null) {
+            categoryClosureRepository.linkSubtree(child.getId(), parentCategory.getId());
+        }
+        productSearchIndex.indexCategory(child);
+        cacheInvalidator.evict(Constant.CATEGORY_CACHE, child.getId());
+    }
+
+    private Long getParentCategoryId(Category category) {
+        return category.getParentCategory() == null ? null : category.getParentCategory().getId();
+    }
+
     private boolean checkParentCategoryIfNull(CategoryRequest categoryRequest) {
         if (categoryRequest.getParentCategoryId() == null) {
             categoryRequest.setParentCategoryId(Constant.LONG_NULL);
@@ -1,19 +1,20 @@
 package com.online.store.service.impl;
 
+import com.online.store.cache.CacheInvalidator;
 import com.online.store.dto.request.FeatureRequest;
 import com.online.store.dto.response.FeatureResponse;
 import com.online.store.entity.Feature;
 import com.online.store.entity.FeatureKey;
 import com.online.store.repository.FeatureKeyRepository;
 import com.online.store.repository.FeatureRepository;
+import com.online.store.search.ProductSearchIndex;
 import com.online.store.service.FeatureService;
 import com.online.store.util.Constant;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 import static com.online.store.exception.NotFoundException.notFoundException;
 
 @Service
@@ -23,6 +24,10 @@ public class FeatureServiceImpl implements FeatureService {
     private FeatureRepository featureRepository;
     @Autowired
     private FeatureKeyRepository featureKeyRepository;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
 
 
     @Override
@@ -33,21 +38,24 @@ public class FeatureServiceImpl implements FeatureService {
         return getFeatureResponse(feature);
     }
 
+    @Transactional
     @Override
     public FeatureResponse modifyFeature(Long id, FeatureRequest featureRequest) {
         Feature feature = getFeatureByIdFromDB(id);
         feature.setName(featureRequest.getName());
         featureRepository.save(feature);
+        cacheInvalidator.evict(Constant.FEATURE_CACHE, id);
         return getFeatureResponse(feature);
     }
 
     @Transactional
     @Override
     public void deleteFeature(Long id) {
-        Feature feature = getFeatureByIdFromDB(id);
-        List<FeatureKey> featureKeys = featureKeyRepository.findByFeature(feature);
-        featureKeys.forEach(featureKey -> featureKey.setFeature(null));
-        featureRepository.delete(feature);
+        featureKeyRepository.detachFeature(id);
+        if (featureRepository.deleteFeature(id) == 0) {
+            throw notFoundException(Constant.FEATURE + id);
+        }
+        cacheInvalidator.evict(Constant.FEATURE_CACHE, id);
     }
 
     @Override
@@ -55,12 +63,14 @@ public class FeatureServiceImpl implements FeatureService {
         return featureRepository.findById(id).orElseThrow(() -> notFoundException(Constant.FEATURE + id));
     }
 
+    @Cacheable(cacheNames = Constant.FEATURE_CACHE, key = "#id")
     @Override
     public FeatureResponse getFeatureById(Long id) {
         Feature feature = getFeatureByIdFromDB(id);
         return getFeatureResponse(feature);
     }
 
+    @Transactional
     @Override
     public FeatureResponse createFeatureKey(Long id, FeatureRequest featureRequest) {
         Feature feature = getFeatureByIdFromDB(id);
@@ -68,25 +78,35 @@ public class FeatureServiceImpl implements FeatureService {
         featureKey.setName(featureRequest.getName());
         feature.addFeatureKey(featureKey);
         featureKeyRepository.save(featureKey);
+        productSearchIndex.indexFeatureKey(featureKey);
         return getFeatureKeyResponse(featureKey);
     }
 
+    @Transactional
     @Override
     public FeatureResponse modifyFeatureKey(Long characteristicId, FeatureRequest featureRequest, Long id) {
         getFeatureByIdFromDB(id);
         FeatureKey featureKey = getFeatureKeyByIdFromDB(characteristicId);
         featureKey.setName(featureRequest.getName());
         featureKeyRepository.save(featureKey);
+        productSearchIndex.indexFeatureKey(featureKey);
+        cacheInvalidator.evict(Constant.FEATURE_KEY_CACHE, characteristicId);
         return getFeatureKeyResponse(featureKey);
     }
 
+    @Transactional
     @Override
     public void deleteFeatureKey(Long id) {
-        FeatureKey featureKey = getFeatureKeyByIdFromDB(id);
-        featureKey.getFeature().removeFeatureKey(featureKey);
-        featureKeyRepository.delete(featureKey);
+        featureKeyRepository.deleteProductLinks(id);
+        if (featureKeyRepository.deleteFeatureKey(id) == 0) {
+            throw notFoundException(Constant.FEATURE_KEY + id);
+        }
+        productSearchIndex.removeFeatureKey(id);
+        cacheInvalidator.evict(Constant.FEATURE_KEY_CACHE, id);
+        cacheInvalidator.clear(Constant.PRODUCT_CACHE);
     }
 
+    @Cacheable(cacheNames = Constant.FEATURE_KEY_CACHE, key = "#id")
     @Override
     public FeatureResponse getFeatureKeyById(Long id) {
         FeatureKey featureKey = getFeatureKeyByIdFromDB(id);
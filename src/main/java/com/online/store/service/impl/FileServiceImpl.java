@@ -1,21 +1,28 @@
 package com.online.store.service.impl;
 
+import com.online.store.blob.BlobStore;
+import com.online.store.blob.BlobUpload;
+import com.online.store.blob.BlobUploads;
+import com.online.store.cache.CacheInvalidator;
+import com.online.store.dto.response.FileUploadResponse;
 import com.online.store.entity.ProductFile;
 import com.online.store.repository.FileRepository;
+import com.online.store.search.ProductSearchIndex;
 import com.online.store.service.FileService;
 import com.online.store.util.Constant;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.Objects;
 
 import static com.online.store.exception.FileStoreException.*;
 import static com.online.store.exception.NotFoundException.notFoundException;
@@ -23,12 +30,16 @@ import static com.online.store.exception.NotFoundException.notFoundException;
 @Service
 public class FileServiceImpl implements FileService {
 
-    private static String pathFile = "resources\\files";
-
-    private static final Path ROOT_FILES = Paths.get(pathFile);
-
     @Autowired
     private FileRepository fileRepository;
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private BlobUploads blobUploads;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
 
 
     @Override
@@ -38,17 +49,69 @@ public class FileServiceImpl implements FileService {
         fileRepository.save(productFile);
     }
 
+    @Override
+    public FileUploadResponse initiateUpload(String name, long size) {
+        try {
+            return toUploadResponse(blobUploads.initiate(StringUtils.getFilename(name), size));
+        } catch (IOException e) {
+            throw storeFileException(e.getMessage());
+        }
+    }
+
+    @Override
+    public FileUploadResponse findUpload(String uploadId) {
+        try {
+            return toUploadResponse(blobUploads.find(uploadId));
+        } catch (IOException e) {
+            throw readFileException(e.getMessage());
+        }
+    }
+
+    @Override
+    public void uploadPart(String uploadId, int index, String digest, InputStream inputStream) {
+        try {
+            blobUploads.putPart(uploadId, index, digest, inputStream);
+        } catch (IOException e) {
+            throw storeFileException(e.getMessage());
+        }
+    }
+
+    @Override
+    public Long commitUpload(String uploadId) {
+        ProductFile productFile = new ProductFile();
+        try {
+            BlobUpload upload = blobUploads.find(uploadId);
+            productFile.setDigest(blobUploads.commit(upload));
+            productFile.setName(upload.getName());
+        } catch (IOException e) {
+            throw storeFileException(e.getMessage());
+        }
+        return fileRepository.save(productFile).getId();
+    }
+
+    @Override
+    public void abortUpload(String uploadId) {
+        try {
+            blobUploads.abort(uploadId);
+        } catch (IOException e) {
+            throw storeFileException(e.getMessage());
+        }
+    }
+
     @Override
     public Resource findFileById(Long id) {
         ProductFile productFile = getProductFileFromDB(id);
         return getResourceFile(productFile);
     }
 
+    @Transactional
     @Override
     public void deleteProductFile(Long id) {
         ProductFile productFile = getProductFileFromDB(id);
         productFile.getProducts().clear();
         fileRepository.delete(productFile);
+        productSearchIndex.removeFile(id);
+        cacheInvalidator.clear(Constant.PRODUCT_CACHE);
     }
 
     @Override
@@ -59,16 +122,29 @@ public class FileServiceImpl implements FileService {
     }
 
     private void creatingFile(MultipartFile file, ProductFile productFile) {
-        try {
-            Path path = ROOT_FILES.resolve(Objects.requireNonNull(file.getOriginalFilename()));
-            Files.copy(file.getInputStream(), path, StandardCopyOption.REPLACE_EXISTING);
-            productFile.setPath(path.toAbsolutePath().toString());
+        try (InputStream inputStream = file.getInputStream()) {
+            productFile.setDigest(blobStore.put(inputStream));
+            productFile.setName(StringUtils.getFilename(file.getOriginalFilename()));
         } catch (Exception e) {
             throw storeFileException(e.getMessage());
         }
     }
 
+    private FileUploadResponse toUploadResponse(BlobUpload upload) {
+        FileUploadResponse response = new FileUploadResponse();
+        response.setUploadId(upload.getId());
+        response.setName(upload.getName());
+        response.setSize(upload.getSize());
+        response.setChunkSize(upload.getChunkSize());
+        response.setChunks(upload.getChunks());
+        response.setMissing(upload.getMissing());
+        return response;
+    }
+
     private Resource getResourceFile(ProductFile productFile) {
+        if (productFile.getDigest() != null) {
+            return blobStore.getResource(productFile.getDigest(), productFile.getName());
+        }
         try {
             Path file = Paths.get(productFile.getPath());
             return getResource(file);
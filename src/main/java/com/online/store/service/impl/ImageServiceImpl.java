@@ -1,55 +1,143 @@
 package com.online.store.service.impl;
 
+import com.online.store.blob.BlobStore;
+import com.online.store.cache.CacheInvalidator;
 import com.online.store.entity.ProductImage;
+import com.online.store.exception.FileStoreException;
+import com.online.store.image.HotImageCache;
+import com.online.store.image.ImageDerivatives;
+import com.online.store.image.ImageVariant;
 import com.online.store.repository.ImageRepository;
+import com.online.store.search.ProductSearchIndex;
 import com.online.store.service.ImageService;
 import com.online.store.util.Constant;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static com.online.store.exception.FileStoreException.*;
 import static com.online.store.exception.NotFoundException.notFoundException;
 import static com.online.store.util.Constant.IMAGE;
-import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 @Service
 public class ImageServiceImpl implements ImageService {
 
-    private static String pathImage = "resources\\images";
-
-    private static final Path ROOT_IMAGES = Paths.get(pathImage);
+    @Value("${store.image.upload-threads:4}")
+    private int uploadThreads;
 
     @Autowired
     private ImageRepository imageRepository;
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private ImageDerivatives imageDerivatives;
+    @Autowired
+    private HotImageCache hotImageCache;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
 
+    private ExecutorService executor;
+
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(uploadThreads, runnable -> {
+            Thread thread = new Thread(runnable, "image-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
 
     @Override
     public void saveProductImages(MultipartFile file) {
         ProductImage productImage = new ProductImage();
         creatingImage(file, productImage);
         imageRepository.save(productImage);
+        imageDerivatives.submit(productImage.getDigest());
     }
 
     @Override
-    public Resource findImagesById(Long id) {
+    public List<Long> saveProductImages(List<MultipartFile> files) {
+        List<Future<ProductImage>> writing = new ArrayList<>(files.size());
+        List<ProductImage> productImages = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                writing.add(executor.submit(() -> {
+                    ProductImage productImage = new ProductImage();
+                    creatingImage(file, productImage);
+                    return productImage;
+                }));
+            }
+            for (Future<ProductImage> future : writing) {
+                productImages.add(take(future));
+            }
+        } finally {
+            writing.forEach(future -> future.cancel(true));
+        }
+        imageRepository.saveAll(productImages);
+        productImages.forEach(productImage -> imageDerivatives.submit(productImage.getDigest()));
+        return productImages.stream()
+                .map(ProductImage::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Resource findImagesById(Long id, ImageVariant size) {
         ProductImage productImage = getProductImageFromDB(id);
-        return getResourceImage(productImage);
+        String digest = productImage.getDigest();
+        if (digest == null) {
+            return getResourceImage(productImage);
+        }
+        if (size != null) {
+            String name = ImageDerivatives.getName(productImage.getName(), size);
+            Resource cached = hotImageCache.get(BlobStore.getTag(digest, size.getKey()), name);
+            if (cached != null) {
+                return cached;
+            }
+            if (blobStore.exists(digest, size.getKey())) {
+                return cacheImage(blobStore.getResource(digest, size.getKey(), name));
+            }
+            imageDerivatives.submit(digest);
+        }
+        Resource cached = hotImageCache.get(digest, productImage.getName());
+        return cached != null ? cached : cacheImage(getResourceImage(productImage));
     }
 
+    @Transactional
     @Override
     public void deleteProductImage(Long id) {
         ProductImage productImage = getProductImageFromDB(id);
         productImage.getProducts().clear();
         imageRepository.delete(productImage);
+        productSearchIndex.removeImage(id);
+        cacheInvalidator.clear(Constant.PRODUCT_CACHE);
     }
 
     @Override
@@ -60,16 +148,40 @@ public class ImageServiceImpl implements ImageService {
     }
 
     private void creatingImage(MultipartFile file, ProductImage image) {
-        try {
-            Path path = ROOT_IMAGES.resolve(Objects.requireNonNull(file.getOriginalFilename()));
-            Files.copy(file.getInputStream(), path, REPLACE_EXISTING);
-            image.setPath(path.toAbsolutePath().toString());
+        try (InputStream inputStream = file.getInputStream()) {
+            image.setDigest(blobStore.put(inputStream));
+            image.setName(StringUtils.getFilename(file.getOriginalFilename()));
         } catch (Exception e) {
             throw storeFileException(e.getMessage());
         }
     }
 
+    private ProductImage take(Future<ProductImage> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw storeFileException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FileStoreException) {
+                throw (FileStoreException) e.getCause();
+            }
+            throw storeFileException(e.getCause().getMessage());
+        }
+    }
+
+    private Resource cacheImage(Resource resource) {
+        try {
+            return hotImageCache.put(resource);
+        } catch (IOException e) {
+            throw readFileException(Constant.FILE + e.getMessage());
+        }
+    }
+
     private Resource getResourceImage(ProductImage productImage) {
+        if (productImage.getDigest() != null) {
+            return blobStore.getResource(productImage.getDigest(), productImage.getName());
+        }
         try {
             Path file = Paths.get(productImage.getPath());
             return getResource(file);
@@ -4,6 +4,7 @@ import com.online.store.dto.request.OrderRequest;
 import com.online.store.dto.response.OrderResponse;
 import com.online.store.entity.Order;
 import com.online.store.entity.enums.Status;
+import com.online.store.repository.CardRepository;
 import com.online.store.repository.OrderRepository;
 import com.online.store.service.CardService;
 import com.online.store.service.OrderService;
@@ -26,12 +27,13 @@ import static com.online.store.util.ValidationUtil.isNullOrEmpty;
 public class OrderServiceImpl implements OrderService {
 
     public static final String SIMPLE_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
-    public static final String NUMBER_OF_ORDER = "%09d";
     public static final int DELIVERY_DEFAULT_VALUE = 0;
 
     @Autowired
     private OrderRepository orderRepository;
     @Autowired
+    private CardRepository cardRepository;
+    @Autowired
     private UserService userService;
     @Autowired
     private CardService cardService;
@@ -41,8 +43,8 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public OrderResponse createOrder(Long userId, List<Long> cardListId) {
         Order order = getOrder(cardListId);
+        order.setUser(userService.getUserByIdFromDB(userId));
         orderRepository.save(order);
-        userService.setOrderToUser(userId, order);
         return fromOrder(order, new OrderResponse());
     }
 
@@ -54,12 +56,13 @@ public class OrderServiceImpl implements OrderService {
         return fromOrder(order, new OrderResponse());
     }
 
+    @Transactional
     @Override
     public void deleteOrder(Long id) {
-        Order order = getOrderFromDB(id);
-        order.getCards().forEach(order::removeCard);
-        order.getUser().removeOrder(order);
-        orderRepository.delete(order);
+        cardRepository.deleteOrderCards(id);
+        if (orderRepository.deleteOrder(id) == 0) {
+            throw notFoundException(Constant.ORDER + id);
+        }
     }
 
     @Override
@@ -71,8 +74,6 @@ public class OrderServiceImpl implements OrderService {
         order.setCreateDate(new SimpleDateFormat(SIMPLE_DATE_FORMAT).format(new Date()));
         order.setStatus(PENDING);
         order.setDelivery(DELIVERY_DEFAULT_VALUE);
-        orderRepository.save(order);
-        order.setNumberOrder(String.format(NUMBER_OF_ORDER, order.getId()));
     }
 
     private Order getOrderFromDB(Long id) {
@@ -1,20 +1,29 @@
 package com.online.store.service.impl;
 
+import com.online.store.cache.CacheInvalidator;
 import com.online.store.dto.request.ProductFindRequest;
 import com.online.store.dto.request.ProductRequest;
 import com.online.store.dto.response.ProductResponse;
+import com.online.store.dto.response.SliceResponse;
 import com.online.store.entity.FeatureKey;
 import com.online.store.entity.Product;
 import com.online.store.entity.ProductFile;
 import com.online.store.entity.ProductImage;
+import com.online.store.repository.CardRepository;
 import com.online.store.repository.ProductRepository;
+import com.online.store.repository.specification.KeysetSpecification;
 import com.online.store.repository.specification.ProductSpecification;
+import com.online.store.search.ProductSearchIndex;
 import com.online.store.service.*;
 import com.online.store.util.Constant;
+import com.online.store.util.ContinuationToken;
 import com.online.store.util.ProductConversionUtil;
+import com.online.store.util.SliceConversionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +40,8 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ProductRepository productRepository;
     @Autowired
+    private CardRepository cardRepository;
+    @Autowired
     private UserService userService;
     @Autowired
     private CategoryService categoryService;
@@ -40,6 +51,10 @@ public class ProductServiceImpl implements ProductService {
     private ImageService imageService;
     @Autowired
     private FileService fileService;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
 
 
     @Transactional
@@ -50,6 +65,7 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRequest.getProduct();
         setFieldsToProduct(productRequest, product);
         productRepository.save(product);
+        productSearchIndex.index(product);
         return new ProductConversionUtil().fromProduct(product);
     }
 
@@ -61,19 +77,29 @@ public class ProductServiceImpl implements ProductService {
         productRequest.compareProduct();
         setFieldsToProduct(productRequest, product);
         productRepository.save(product);
+        productSearchIndex.index(product);
+        cacheInvalidator.evict(Constant.PRODUCT_CACHE, id);
         return new ProductConversionUtil().fromProduct(product);
     }
 
+    @Transactional
     @Override
     public void deleteProduct(Long id) {
-        Product product = findProductByIdFromDB(id);
-        product.getCards().forEach(product::removeCard);
-        productRepository.delete(product);
+        cardRepository.deleteProductCards(id);
+        productRepository.deleteFavourites(id);
+        if (productRepository.deleteProduct(id) == 0) {
+            throw notFoundException(Constant.PRODUCT + id);
+        }
+        productSearchIndex.remove(id);
+        cacheInvalidator.evict(Constant.PRODUCT_CACHE, id);
     }
 
+    @Cacheable(cacheNames = Constant.PRODUCT_CACHE, key = "#id")
     @Override
     public ProductResponse findProductById(Long id) {
-        return new ProductConversionUtil().fromProduct(findProductByIdFromDB(id));
+        return productRepository.findResponsesByIds(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> notFoundException(Constant.PRODUCT + id));
     }
 
     @Override
@@ -83,12 +109,14 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> notFoundException(Constant.PRODUCT + id));
     }
 
+    @Transactional
     @Override
     public void putProductToFavourites(Long productId, Long id) {
         Product product = findProductByIdFromDB(productId);
         userService.getUserByIdFromDB(id).addFavouriteProduct(product);
     }
 
+    @Transactional
     @Override
     public void deleteProductFromFavourites(Long productId, Long id) {
         Product product = findProductByIdFromDB(productId);
@@ -97,19 +125,43 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<ProductResponse> findProductsByParam(ProductFindRequest productFindRequest) {
+        return productSearchIndex.search(productFindRequest)
+                .orElseGet(() -> findProductsInDB(productFindRequest));
+    }
+
+    @Override
+    public SliceResponse<ProductResponse> findProductsSlice(ProductFindRequest productFindRequest) {
+        int pageSize = SliceConversionUtil.checkPageSize(productFindRequest.getPageSize());
+        String sortBy = productFindRequest.getSortBy();
+        Specification<Product> specification = Specification.where(getProductSpecification(productFindRequest));
+        if (productFindRequest.getContinuationToken() != null) {
+            specification = specification.and(new KeysetSpecification<>(
+                    ContinuationToken.decode(productFindRequest.getContinuationToken(), sortBy)));
+        }
+        List<Product> productList = productRepository.findSlice(specification,
+                Sort.by(Sort.Direction.ASC, sortBy, KeysetSpecification.ID), pageSize + 1);
+        return new SliceConversionUtil().fromEntities(productList, pageSize, sortBy,
+                this::getProductResponses);
+    }
+
+    private List<ProductResponse> findProductsInDB(ProductFindRequest productFindRequest) {
         PageRequest pageRequest = PageRequest.of(productFindRequest.getPageNumber(),
                 productFindRequest.getPageSize(), Sort.by(Sort.Direction.ASC, productFindRequest.getSortBy()));
-        ProductSpecification productSpecification = new ProductSpecification(productFindRequest.getPrice(),
+        List<Product> productList = productRepository.findAll(getProductSpecification(productFindRequest),
+                pageRequest).toList();
+        return getProductResponses(productList);
+    }
+
+    private ProductSpecification getProductSpecification(ProductFindRequest productFindRequest) {
+        return new ProductSpecification(productFindRequest.getPrice(),
                 productFindRequest.getCategory(), productFindRequest.getFeature(),
                 productFindRequest.getName(), productFindRequest.getParentCategory());
-        List<Product> productList = productRepository.findAll(productSpecification, pageRequest).toList();
-        return getProductResponses(productList);
     }
 
     private List<ProductResponse> getProductResponses(List<Product> productList) {
-        return productList.stream()
-                .map(product -> new ProductConversionUtil().fromProduct(product))
-                .collect(Collectors.toList());
+        return productRepository.findResponsesByIds(productList.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList()));
     }
 
     private void setCategoryToProduct(ProductRequest productRequest, Product product) {
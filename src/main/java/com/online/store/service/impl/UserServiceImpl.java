@@ -1,18 +1,16 @@
 package com.online.store.service.impl;
 
+import com.online.store.cache.RoleReferences;
 import com.online.store.dto.request.UserLoginRequest;
 import com.online.store.dto.request.UserRequest;
 import com.online.store.dto.response.UserLoginResponse;
 import com.online.store.dto.response.UserResponse;
-import com.online.store.entity.Order;
-import com.online.store.entity.Roles;
 import com.online.store.entity.User;
 import com.online.store.entity.enums.Role;
-import com.online.store.repository.RoleRepository;
 import com.online.store.repository.UserRepository;
 import com.online.store.service.UserService;
 import com.online.store.seсurity.JwtUtils;
-import com.online.store.util.Constant;
+import com.online.store.seсurity.TokenRevocations;
 import com.online.store.util.UserConversionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -23,12 +21,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.online.store.exception.AlreadyExistException.isExistsException;
@@ -42,10 +38,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleReferences roleReferences;
     @Autowired
     private JwtUtils jwtUtils;
     @Autowired
+    private TokenRevocations tokenRevocations;
+    @Autowired
     private AuthenticationManager authenticationManager;
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -62,7 +60,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserResponse createUser(UserRequest userRequest) {
-        if (!userRepository.findUserByEmail(userRequest.getEmail()).isEmpty()) {
+        if (userRepository.existsByEmail(userRequest.getEmail())) {
             throw isExistsException(USER);
         }
         User user = userRequest.convertToUser(new User());
@@ -77,6 +75,7 @@ public class UserServiceImpl implements UserService {
         return new UserConversionUtil().fromUserToUserResponse(getUserByIdFromDB(id));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<UserResponse> findAllUsers(int pageNumber, int pageSize, String sortBy) {
         PageRequest pageRequest = PageRequest.of(pageNumber, pageSize, Sort.by(Sort.Direction.ASC, sortBy));
@@ -89,22 +88,15 @@ public class UserServiceImpl implements UserService {
         changePassword(userRequest, user);
         userRequest.convertToUser(user);
         userRepository.save(user);
+        tokenRevocations.revoke(id);
         return new UserConversionUtil().fromUserToUserResponse(user);
     }
 
     @Override
     public void deleteUser(Long id) {
         User user = getUserByIdFromDB(id);
-        Optional<Roles> rolesOptional = user.getRoles().stream().findFirst();
-        rolesOptional.ifPresent(user::removeRoles);
         userRepository.delete(user);
-    }
-
-    @Override
-    public void setOrderToUser(Long id, Order order) {
-        User user = getUserByIdFromDB(id);
-        user.addOrder(order);
-        userRepository.save(user);
+        tokenRevocations.revoke(id);
     }
 
     @Override
@@ -118,10 +110,7 @@ public class UserServiceImpl implements UserService {
     }
 
     private void setDefault(User user) {
-        Roles role = roleRepository.findByRole(Role.CUSTOMER).orElseThrow(() -> notFoundException(Constant.ROLES));
-        Set<Roles> rolesSet = new HashSet<>();
-        rolesSet.add(role);
-        user.setRoles(rolesSet);
+        user.getRoles().add(roleReferences.get(Role.CUSTOMER));
         user.setCreateDate(LocalDateTime.now());
         user.setDiscount(3);
     }
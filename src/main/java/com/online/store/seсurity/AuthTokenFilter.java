@@ -1,11 +1,13 @@
 package com.online.store.seсurity;
 
+import com.online.store.service.impl.UserDetailsImpl;
 import com.online.store.service.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,19 +27,29 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenRevocations tokenRevocations;
+
+    @Value("${store.security.stateless-auth:true}")
+    private boolean statelessAuth;
+
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = jwt == null ? null : jwtUtils.verifyJwtToken(jwt).orElse(null);
+            if (claims != null) {
+                UserDetailsImpl userDetails = getUserDetails(claims);
+                if (tokenRevocations.isRevoked(userDetails.getId(), claims.getIssuedAt())) {
+                    log.error("JWT token is revoked for user {}", userDetails.getId());
+                } else {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -45,6 +57,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetailsImpl getUserDetails(Claims claims) {
+        UserDetailsImpl userDetails = statelessAuth ? jwtUtils.getUserDetailsFromClaims(claims) : null;
+        if (userDetails == null) {
+            userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Master ")) {
@@ -1,5 +1,8 @@
 package com.online.store.seсurity;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.online.store.service.impl.UserDetailsImpl;
 import com.online.store.util.Constant;
 import io.jsonwebtoken.*;
@@ -7,29 +10,69 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtUtils {
 
+    private static final String SHA_256 = "SHA-256";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
+    @Value("${store.security.token-cache.size:10000}")
+    private long tokenCacheSize;
+
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
+
+
+    @PostConstruct
+    public void init() {
+        jwtParser = Jwts.parser().setSigningKey(jwtSecret);
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(digest, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
         LocalDateTime now = LocalDateTime.now();
         Date nowDate = Date.from(now.atZone(ZoneId.systemDefault()).toInstant());
         Map<String, Object> claims = new HashMap<>();
+        claims.put(Constant.ID, userPrincipal.getId());
         claims.put(Constant.EMAIL, userPrincipal.getEmail());
         claims.put(Constant.ROLES, userPrincipal.getAuthorities()
                 .stream()
@@ -44,14 +87,34 @@ public class JwtUtils {
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
+    public Optional<Claims> verifyJwtToken(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims != null && !isExpired(claims)) {
+            return Optional.of(claims);
+        }
+        claims = parseJwtToken(token);
+        if (claims != null && claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return Optional.ofNullable(claims);
     }
 
-    public boolean validateJwtToken(String authToken) {
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Number id = claims.get(Constant.ID, Number.class);
+        if (id == null) {
+            return null;
+        }
+        List<?> roles = claims.get(Constant.ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null ? Collections.emptyList() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+        return new UserDetailsImpl(id.longValue(), null, claims.getSubject(), authorities);
+    }
+
+    private Claims parseJwtToken(String authToken) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -63,6 +126,20 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
+
+    private static boolean isExpired(Claims claims) {
+        return !claims.getExpiration().after(new Date());
+    }
+
+    private static String digest(String token) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance(SHA_256)
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
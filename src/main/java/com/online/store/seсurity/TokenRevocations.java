@@ -0,0 +1,64 @@
+package com.online.store.seсurity;
+
+import com.online.store.entity.TokenRevocation;
+import com.online.store.repository.TokenRevocationRepository;
+import com.online.store.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class TokenRevocations {
+
+    @Value("${jwt.expiration}")
+    private int jwtExpirationMs;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private final Map<Long, LocalDateTime> revokedBefore = new ConcurrentHashMap<>();
+
+
+    // JWT iat has whole seconds, so every token issued up to and including the second of the revocation
+    // is revoked. A client that logs in again within that same second gets a revoked token and must retry.
+    public void revoke(Long userId) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        tokenRevocationRepository.save(new TokenRevocation(userId, now));
+        TransactionUtil.afterCommit(() -> revokedBefore.merge(userId, now, TokenRevocations::latest));
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        LocalDateTime revoked = userId == null ? null : revokedBefore.get(userId);
+        return revoked != null
+                && (issuedAt == null || !LocalDateTime.ofInstant(issuedAt.toInstant(), ZoneId.systemDefault())
+                .isAfter(revoked));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${store.security.revocation-poll-interval:PT5S}")
+    public void refresh() {
+        LocalDateTime expired = LocalDateTime.now().minus(jwtExpirationMs, ChronoUnit.MILLIS);
+        try {
+            tokenRevocationRepository.deleteOlderThan(expired);
+            tokenRevocationRepository.findAll().forEach(revocation -> revokedBefore.merge(revocation.getUserId(),
+                    revocation.getRevokedBefore(), TokenRevocations::latest));
+            revokedBefore.values().removeIf(revoked -> revoked.isBefore(expired));
+        } catch (RuntimeException e) {
+            log.error("Could not refresh token revocations: {}", e.getMessage());
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime revoked) {
+        return current.isAfter(revoked) ? current : revoked;
+    }
+
+}
@@ -2,8 +2,11 @@ package com.online.store.swagger;
 
 import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
@@ -14,9 +17,12 @@ import springfox.documentation.service.SecurityReference;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spi.service.contexts.SecurityContext;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Configuration
@@ -26,6 +32,7 @@ public class SwaggerConfig {
     public static final String AUTHORIZATION_HEADER = "Authorization";
     public static final String JWT = "JWT";
     public static final String HEADER = "header";
+    public static final String HANDLER_MAPPINGS = "handlerMappings";
 
     @Bean
     public Docket createRestApi() {
@@ -41,6 +48,26 @@ public class SwaggerConfig {
                 .build();
     }
 
+    @Bean
+    public static BeanPostProcessor pathPatternHandlerMappingFilter() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    handlerMappings(bean).removeIf(mapping -> mapping.getPatternParser() != null);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RequestMappingInfoHandlerMapping> handlerMappings(Object provider) {
+        Field field = Objects.requireNonNull(ReflectionUtils.findField(provider.getClass(), HANDLER_MAPPINGS));
+        ReflectionUtils.makeAccessible(field);
+        return (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, provider);
+    }
+
     private ApiInfo apiInfo() {
         return new ApiInfoBuilder()
                 .title("Spring Boot REST API")
@@ -17,6 +17,7 @@ public class Constant {
     public static final String USERS_FAVOURITE_PRODUCTS = "users_favourite_products";
     public static final String FAVOURITES = "favourites";
     public static final String ORDER = "order";
+    public static final String NUMBER_OF_ORDER = "%09d";
     public static final String CARD = "cardTest";
     public static final String FILE = "file";
     public static final String FILE_ID = "file_id";
@@ -24,12 +25,20 @@ public class Constant {
     public static final String IMAGE_ID = "image_id";
     public static final String CATEGORY = "category";
     public static final String PARENT_CATEGORY = "parentCategory";
+    public static final String ID = "id";
+    public static final String ANCESTOR_ID = "ancestorId";
+    public static final String DESCENDANT_ID = "descendantId";
+    public static final String DEPTH = "depth";
     public static final String PRICE = "price";
     public static final String FEATURE = "feature";
     public static final String FEATURE_ID = "feature_id";
     public static final String FEATURE_KEY = "featureKey";
     public static final String FEATURE_KEYS = "featureKeys";
     public static final String FEATURE_KEY_ID = "featureKey_id";
+    public static final String PRODUCT_CACHE = "products";
+    public static final String CATEGORY_CACHE = "categories";
+    public static final String FEATURE_CACHE = "features";
+    public static final String FEATURE_KEY_CACHE = "featureKeys";
     public static final String PRODUCTS_WITH_FEATURE = "products_with_feature";
     public static final String PRODUCTS_WITH_IMAGES = "products_with_images";
     public static final String PRODUCTS_WITH_FILES = "products_with_files";
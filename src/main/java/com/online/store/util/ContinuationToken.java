@@ -0,0 +1,67 @@
+package com.online.store.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.online.store.entity.IdHolder;
+import lombok.Getter;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.online.store.exception.InvalidTokenException.invalidTokenException;
+
+@Getter
+public class ContinuationToken {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SORT_BY = "s";
+    private static final String VALUE = "v";
+    private static final String ID = "i";
+
+    private final String sortBy;
+    private final String value;
+    private final Long id;
+
+    private ContinuationToken(String sortBy, String value, Long id) {
+        this.sortBy = sortBy;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static ContinuationToken after(IdHolder entity, String sortBy) {
+        Object value = new BeanWrapperImpl(entity).getPropertyValue(sortBy);
+        return new ContinuationToken(sortBy, value == null ? null : value.toString(), entity.getId());
+    }
+
+    public static ContinuationToken decode(String token, String sortBy) {
+        try {
+            Map<?, ?> fields = MAPPER.readValue(Base64.getUrlDecoder().decode(token), Map.class);
+            Object id = fields.get(ID);
+            if (!sortBy.equals(fields.get(SORT_BY)) || !(id instanceof Number)) {
+                throw invalidTokenException(token);
+            }
+            Object value = fields.get(VALUE);
+            return new ContinuationToken(sortBy, value == null ? null : value.toString(), ((Number) id).longValue());
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalidTokenException(token);
+        }
+    }
+
+    public String encode() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(SORT_BY, sortBy);
+        fields.put(VALUE, value);
+        fields.put(ID, id);
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsString(fields).getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
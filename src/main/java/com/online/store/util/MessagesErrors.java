@@ -9,6 +9,7 @@ public class MessagesErrors {
     public static final String NO_PERMISSION = "Have NO permission";
     public static final String VALIDATION_FAILED = "Validation Failed";
     public static final String WRONG_FORMAT = "Wrong format of JSON request";
+    public static final String INVALID_TOKEN = "Continuation token is malformed or does not match the request";
     public static final String CHANGE_PERMISSION = "order is already confirmed and cant be changed";
 
 }
@@ -0,0 +1,33 @@
+package com.online.store.util;
+
+import com.online.store.dto.response.SliceResponse;
+import com.online.store.entity.IdHolder;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static com.online.store.exception.InvalidPageSizeException.invalidPageSizeException;
+
+public class SliceConversionUtil {
+
+    public static int checkPageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1) {
+            throw invalidPageSizeException(pageSize);
+        }
+        return pageSize;
+    }
+
+    public <E extends IdHolder, R> SliceResponse<R> fromEntities(List<E> entities, int pageSize, String sortBy,
+                                                                 Function<List<E>, List<R>> conversion) {
+        SliceResponse<R> sliceResponse = new SliceResponse<>();
+        boolean hasNext = entities.size() > pageSize;
+        List<E> content = hasNext ? entities.subList(0, pageSize) : entities;
+        sliceResponse.setContent(conversion.apply(content));
+        sliceResponse.setHasNext(hasNext);
+        if (hasNext) {
+            sliceResponse.setContinuationToken(ContinuationToken.after(content.get(pageSize - 1), sortBy).encode());
+        }
+        return sliceResponse;
+    }
+
+}
@@ -0,0 +1,14 @@
+alter table `product_file`
+    add column `digest` varchar(64);
+
+alter table `product_file`
+    add column `name` varchar(255);
+
+alter table `product_image`
+    add column `digest` varchar(64);
+
+alter table `product_image`
+    add column `name` varchar(255);
+
+create index `product_file_digest` on `product_file` (`digest`);
+create index `product_image_digest` on `product_image` (`digest`);
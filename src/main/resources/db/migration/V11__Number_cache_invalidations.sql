@@ -0,0 +1,2 @@
+alter table `cache_invalidation`
+    add column `sequence_number` bigint not null auto_increment unique;
@@ -0,0 +1,21 @@
+create table `category_closure`
+(
+    `ancestor_id`   bigint  not null,
+    `descendant_id` bigint  not null,
+    `depth`         integer not null,
+    primary key (`ancestor_id`, `descendant_id`)
+) engine = MyISAM;
+
+create index `category_closure_descendant` on `category_closure` (`descendant_id`);
+
+insert into `category_closure` (`ancestor_id`, `descendant_id`, `depth`)
+with recursive `paths` (`ancestor_id`, `descendant_id`, `depth`) as (
+    select `id`, `id`, 0
+    from `category`
+    union all
+    select `paths`.`ancestor_id`, `category`.`id`, `paths`.`depth` + 1
+    from `paths`
+             join `category` on `category`.`parent_category_id` = `paths`.`descendant_id`
+)
+select `ancestor_id`, `descendant_id`, `depth`
+from `paths`;
@@ -0,0 +1,10 @@
+create table `cache_invalidation`
+(
+    `id`          bigint      not null,
+    `cache_name`  varchar(64) not null,
+    `entry_id`    bigint,
+    `create_date` datetime    not null,
+    primary key (`id`)
+) engine = MyISAM;
+
+create index `cache_invalidation_create_date` on `cache_invalidation` (`create_date`);
@@ -0,0 +1,6 @@
+create table `token_revocation`
+(
+    `user_id`        bigint   not null,
+    `revoked_before` datetime not null,
+    primary key (`user_id`)
+) engine = MyISAM;
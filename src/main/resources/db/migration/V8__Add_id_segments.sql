@@ -0,0 +1,23 @@
+create table `id_segment`
+(
+    `segment_name` varchar(255) not null,
+    `next_val`     bigint       not null,
+    primary key (`segment_name`)
+) engine = InnoDB;
+
+insert into `id_segment` (`segment_name`, `next_val`)
+select `segments`.`segment_name`, (select max(`next_val`) from `hibernate_sequence`)
+from (select 'default' as `segment_name`
+      union all select 'CacheInvalidation'
+      union all select 'Card'
+      union all select 'Category'
+      union all select 'Feature'
+      union all select 'FeatureKey'
+      union all select 'Order'
+      union all select 'Product'
+      union all select 'ProductFile'
+      union all select 'ProductImage'
+      union all select 'Roles'
+      union all select 'User') `segments`;
+
+drop table `hibernate_sequence`;
@@ -0,0 +1,137 @@
+alter table `card` engine = InnoDB;
+alter table `category` engine = InnoDB;
+alter table `feature` engine = InnoDB;
+alter table `feature_key` engine = InnoDB;
+alter table `order` engine = InnoDB;
+alter table `product` engine = InnoDB;
+alter table `product_file` engine = InnoDB;
+alter table `product_image` engine = InnoDB;
+alter table `roles` engine = InnoDB;
+alter table `user` engine = InnoDB;
+alter table `products_with_feature` engine = InnoDB;
+alter table `products_with_files` engine = InnoDB;
+alter table `products_with_images` engine = InnoDB;
+alter table `user_roles` engine = InnoDB;
+alter table `users_favourite_products` engine = InnoDB;
+alter table `category_closure` engine = InnoDB;
+alter table `cache_invalidation` engine = InnoDB;
+alter table `token_revocation` engine = InnoDB;
+
+update `card`
+set `order_id` = null
+where `order_id` not in (select `id` from `order`);
+
+delete
+from `card`
+where `product_id` not in (select `id` from `product`);
+
+update `category`
+set `parent_category_id` = null
+where `parent_category_id` not in (select `id` from (select `id` from `category`) `parents`);
+
+update `feature_key`
+set `feature_id` = null
+where `feature_id` not in (select `id` from `feature`);
+
+update `order`
+set `user_id` = null
+where `user_id` not in (select `id` from `user`);
+
+update `product`
+set `category_id` = null
+where `category_id` not in (select `id` from `category`);
+
+delete
+from `products_with_feature`
+where `product_id` not in (select `id` from `product`)
+   or `feature_key_id` not in (select `id` from `feature_key`);
+
+delete
+from `products_with_files`
+where `product_id` not in (select `id` from `product`)
+   or `file_id` not in (select `id` from `product_file`);
+
+delete
+from `products_with_images`
+where `product_id` not in (select `id` from `product`)
+   or `image_id` not in (select `id` from `product_image`);
+
+delete
+from `user_roles`
+where `user_id` not in (select `id` from `user`)
+   or `roles_id` not in (select `id` from `roles`);
+
+delete
+from `users_favourite_products`
+where `user_id` not in (select `id` from `user`)
+   or `product_id` not in (select `id` from `product`);
+
+alter table `card`
+    add constraint `card_order_fk`
+    foreign key (`order_id`) references `order` (`id`);
+
+alter table `card`
+    add constraint `card_product_fk`
+    foreign key (`product_id`) references `product` (`id`);
+
+alter table `category`
+    add constraint `category_parent_category_fk`
+    foreign key (`parent_category_id`) references `category` (`id`);
+
+alter table `feature_key`
+    add constraint `feature_key_feature_fk`
+    foreign key (`feature_id`) references `feature` (`id`);
+
+alter table `order`
+    add constraint `order_user_fk`
+    foreign key (`user_id`) references `user` (`id`);
+
+alter table `product`
+    add constraint `product_category_fk`
+    foreign key (`category_id`) references `category` (`id`);
+
+alter table `products_with_feature`
+    add constraint `feature_fk`
+    foreign key (`feature_key_id`) references `feature_key` (`id`);
+
+alter table `products_with_feature`
+    add constraint `products_with_feature_product_fk`
+    foreign key (`product_id`) references `product` (`id`);
+
+alter table `products_with_files`
+    add constraint `file_fk`
+    foreign key (`file_id`) references `product_file` (`id`);
+
+alter table `products_with_files`
+    add constraint `products_with_files_product_fk`
+    foreign key (`product_id`) references `product` (`id`);
+
+alter table `products_with_images`
+    add constraint `image_fk`
+    foreign key (`image_id`) references `product_image` (`id`);
+
+alter table `products_with_images`
+    add constraint `products_with_images_product_fk`
+    foreign key (`product_id`) references `product` (`id`);
+
+alter table `user_roles`
+    add constraint `roles_fk`
+    foreign key (`roles_id`) references `roles` (`id`);
+
+alter table `user_roles`
+    add constraint `user_roles_fk`
+    foreign key (`user_id`) references `user` (`id`);
+
+alter table `users_favourite_products`
+    add constraint `users_favourite_products_product_fk`
+    foreign key (`product_id`) references `product` (`id`);
+
+alter table `users_favourite_products`
+    add constraint `user_fk`
+    foreign key (`user_id`) references `user` (`id`);
+
+create index `product_name` on `product` (`name`);
+create index `product_price` on `product` (`price`);
+create index `product_create_date` on `product` (`create_date`);
+create index `category_name` on `category` (`name`);
+create index `feature_key_name` on `feature_key` (`name`);
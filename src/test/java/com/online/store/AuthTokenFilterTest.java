@@ -0,0 +1,118 @@
+package com.online.store;
+
+import com.online.store.service.impl.UserDetailsImpl;
+import com.online.store.service.impl.UserDetailsServiceImpl;
+import com.online.store.seсurity.AuthTokenFilter;
+import com.online.store.seсurity.JwtUtils;
+import com.online.store.seсurity.TokenRevocations;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthTokenFilterTest {
+
+    @InjectMocks
+    private AuthTokenFilter authTokenFilter;
+
+    @Spy
+    private JwtUtils jwtUtils = new JwtUtils();
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+    @Mock
+    private TokenRevocations tokenRevocations;
+
+    private String token;
+
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "onlineStore");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheSize", 100L);
+        jwtUtils.init();
+        ReflectionTestUtils.setField(authTokenFilter, "statelessAuth", true);
+        token = generateToken(jwtUtils);
+    }
+
+    @AfterEach
+    public void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("JUnit test for authentication built from token claims")
+    @Test
+    public void shouldAuthenticateFromClaimsWithoutUserLookup() throws Exception {
+        Authentication authentication = filter(token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(((UserDetailsImpl) authentication.getPrincipal()).getId()).isEqualTo(5L);
+        assertThat(authentication.getName()).isEqualTo("admin@gmail.com");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @DisplayName("JUnit test for revoked token")
+    @Test
+    public void shouldRejectRevokedToken() throws Exception {
+        when(tokenRevocations.isRevoked(any(), any())).thenReturn(true);
+
+        assertThat(filter(token)).isNull();
+    }
+
+    @DisplayName("JUnit test for token with wrong signature")
+    @Test
+    public void shouldRejectForgedToken() throws Exception {
+        JwtUtils forger = new JwtUtils();
+        ReflectionTestUtils.setField(forger, "jwtSecret", "anotherSecret");
+        ReflectionTestUtils.setField(forger, "jwtExpirationMs", 60000);
+
+        assertThat(filter(generateToken(forger))).isNull();
+    }
+
+    @DisplayName("JUnit test for verified token served from cache")
+    @Test
+    public void shouldVerifyRepeatedTokenOnce() {
+        Claims claims = jwtUtils.verifyJwtToken(token).orElseThrow();
+
+        assertThat(jwtUtils.verifyJwtToken(token)).containsSame(claims);
+        assertThat(jwtUtils.verifyJwtToken(token + "x")).isEmpty();
+    }
+
+    private static String generateToken(JwtUtils jwtUtils) {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ADMIN"));
+        UserDetailsImpl userDetails = new UserDetailsImpl(5L, null, "admin@gmail.com", authorities);
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(userDetails, null, authorities));
+    }
+
+    private Authentication filter(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Master " + jwt);
+        authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.online.store;
+
+import com.online.store.blob.BlobCollector;
+import com.online.store.blob.BlobStore;
+import com.online.store.blob.BlobUploads;
+import com.online.store.image.HotImageCache;
+import com.online.store.repository.FileRepository;
+import com.online.store.repository.ImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class BlobCollectorTest {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(2));
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private FileRepository fileRepository;
+    @Mock
+    private ImageRepository imageRepository;
+
+    private final BlobStore blobStore = new BlobStore();
+    private final BlobUploads blobUploads = new BlobUploads();
+    private final HotImageCache hotImageCache = new HotImageCache();
+    private final BlobCollector blobCollector = new BlobCollector();
+
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ReflectionTestUtils.setField(blobStore, "rootPath", root.toString());
+        blobStore.init();
+        ReflectionTestUtils.setField(blobUploads, "blobStore", blobStore);
+        ReflectionTestUtils.setField(blobUploads, "chunkSize", DataSize.ofBytes(2));
+        ReflectionTestUtils.setField(blobUploads, "maxSize", DataSize.ofBytes(100));
+        blobUploads.init();
+        ReflectionTestUtils.setField(hotImageCache, "maxSize", DataSize.ofKilobytes(1));
+        ReflectionTestUtils.setField(hotImageCache, "maxEntrySize", DataSize.ofKilobytes(1));
+        hotImageCache.init();
+        ReflectionTestUtils.setField(blobCollector, "blobStore", blobStore);
+        ReflectionTestUtils.setField(blobCollector, "fileRepository", fileRepository);
+        ReflectionTestUtils.setField(blobCollector, "imageRepository", imageRepository);
+        ReflectionTestUtils.setField(blobCollector, "hotImageCache", hotImageCache);
+        ReflectionTestUtils.setField(blobCollector, "pageSize", 2);
+        ReflectionTestUtils.setField(blobCollector, "gracePeriod", Duration.ofDays(1));
+        ReflectionTestUtils.setField(blobCollector, "maxBlobsPerSecond", 1000);
+    }
+
+    @DisplayName("JUnit test for reclaiming old orphans with their variants while keeping referenced blobs")
+    @Test
+    public void shouldReclaimOnlyOldOrphans() throws IOException {
+        String file = put("manual", OLD);
+        String image = put("saw", OLD);
+        String orphan = put("drill", OLD);
+        String fresh = put("plane", Instant.now());
+        blobStore.putVariant(orphan, "thumbnail", outputStream -> outputStream.write(new byte[]{1, 2}));
+        Files.setLastModifiedTime(blobStore.resolve(orphan, "thumbnail"), FileTime.from(OLD));
+        hotImageCache.put(blobStore.getResource(orphan, "drill.png"));
+        given(fileRepository.findDigests(anyCollection())).willReturn(Set.of(file));
+        given(imageRepository.findDigests(anyCollection())).willReturn(Set.of(image));
+
+        long reclaimed = blobCollector.collect() + blobCollector.collect();
+
+        assertThat(reclaimed).isEqualTo("drill".length() + 2);
+        assertThat(blobCollector.getReclaimedBytes()).isEqualTo(reclaimed);
+        assertThat(blobStore.exists(orphan)).isFalse();
+        assertThat(blobStore.exists(orphan, "thumbnail")).isFalse();
+        assertThat(hotImageCache.get(orphan, "drill.png")).isNull();
+        assertThat(blobStore.exists(file)).isTrue();
+        assertThat(blobStore.exists(image)).isTrue();
+        assertThat(blobStore.exists(fresh)).isTrue();
+    }
+
+    @DisplayName("JUnit test for renewing the grace period of an orphan that is uploaded again")
+    @Test
+    public void shouldKeepOrphanUploadedAgain() throws IOException {
+        String digest = put("drill", OLD);
+        blobStore.put(new ByteArrayInputStream("drill".getBytes(StandardCharsets.UTF_8)));
+
+        blobCollector.collect();
+
+        assertThat(blobStore.exists(digest)).isTrue();
+    }
+
+    @DisplayName("JUnit test for discarding abandoned uploads after the grace period")
+    @Test
+    public void shouldDiscardAbandonedUploads() throws IOException {
+        String abandoned = blobUploads.initiate("old.bin", 4).getId();
+        String active = blobUploads.initiate("new.bin", 4).getId();
+        try (Stream<Path> files = Files.walk(root.resolve(BlobUploads.UPLOADS).resolve(abandoned))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.setLastModifiedTime(file, FileTime.from(OLD));
+            }
+        }
+
+        long reclaimed = blobCollector.collect();
+
+        assertThat(reclaimed).isGreaterThanOrEqualTo(4);
+        assertThat(Files.exists(root.resolve(BlobUploads.UPLOADS).resolve(abandoned))).isFalse();
+        assertThat(blobUploads.find(active).getMissing()).hasSize(2);
+    }
+
+    private String put(String content, Instant modified) throws IOException {
+        String digest = blobStore.put(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        Files.setLastModifiedTime(blobStore.resolve(digest), FileTime.from(modified));
+        return digest;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.online.store;
+
+import com.online.store.blob.BlobResponseWriter;
+import com.online.store.blob.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlobResponseWriterTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path root;
+
+    private final BlobStore blobStore = new BlobStore();
+    private final BlobResponseWriter blobResponseWriter = new BlobResponseWriter();
+
+    private Resource resource;
+    private String eTag;
+
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ReflectionTestUtils.setField(blobStore, "rootPath", root.toString());
+        blobStore.init();
+        String digest = blobStore.put(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+        resource = blobStore.getResource(digest, "manual.pdf");
+        eTag = "\"" + digest + "\"";
+    }
+
+    @DisplayName("JUnit test for serving a whole blob with validators")
+    @Test
+    public void shouldServeWholeBlob() throws IOException {
+        MockHttpServletResponse response = write(new MockHttpServletRequest("GET", "/files/1"));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("manual.pdf");
+    }
+
+    @DisplayName("JUnit test for answering a matching If-None-Match with 304")
+    @Test
+    public void shouldAnswerNotModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @DisplayName("JUnit test for serving a single byte range")
+    @Test
+    public void shouldServeByteRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/1");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+    }
+
+    @DisplayName("JUnit test for ignoring a range whose If-Range no longer matches")
+    @Test
+    public void shouldIgnoreStaleIfRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/1");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @DisplayName("JUnit test for rejecting an unsatisfiable range with 416")
+    @Test
+    public void shouldRejectUnsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/1");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @DisplayName("JUnit test for handing the range to the container's sendfile")
+    @Test
+    public void shouldDelegateToSendfile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/1");
+        request.setAttribute(BlobResponseWriter.SENDFILE_SUPPORT, true);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(BlobResponseWriter.SENDFILE_FILENAME))
+                .isEqualTo(resource.getFile().getAbsolutePath());
+        assertThat(request.getAttribute(BlobResponseWriter.SENDFILE_START)).isEqualTo(4L);
+        assertThat(request.getAttribute(BlobResponseWriter.SENDFILE_END)).isEqualTo(10L);
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        blobResponseWriter.write(resource, ContentDisposition.attachment().filename("manual.pdf").build(),
+                request, response);
+        return response;
+    }
+
+}
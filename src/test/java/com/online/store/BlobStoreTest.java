@@ -0,0 +1,100 @@
+package com.online.store;
+
+import com.online.store.blob.BlobStore;
+import com.online.store.exception.FileStoreException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BlobStoreTest {
+
+    private static final String HELLO_DIGEST = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    private final BlobStore blobStore = new BlobStore();
+
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ReflectionTestUtils.setField(blobStore, "rootPath", root.toString());
+        blobStore.init();
+    }
+
+    @DisplayName("JUnit test for storing a blob under its SHA-256 digest in a sharded directory")
+    @Test
+    public void shouldStoreBlobUnderShardedDigest() throws IOException {
+        String digest = put("hello");
+
+        assertThat(digest).isEqualTo(HELLO_DIGEST);
+        assertThat(blobStore.resolve(digest)).isEqualTo(root.resolve("2c").resolve("f2").resolve(HELLO_DIGEST));
+        assertThat(Files.readString(blobStore.resolve(digest))).isEqualTo("hello");
+    }
+
+    @DisplayName("JUnit test for storing identical content once")
+    @Test
+    public void shouldDeduplicateIdenticalContent() throws IOException {
+        String first = put("hello");
+        String second = put("hello");
+        String other = put("world");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        try (Stream<Path> blobs = Files.walk(root)) {
+            assertThat(blobs.filter(Files::isRegularFile)).hasSize(2);
+        }
+    }
+
+    @DisplayName("JUnit test for serving a blob under its original name")
+    @Test
+    public void shouldServeBlobUnderOriginalName() throws IOException {
+        Resource resource = blobStore.getResource(put("hello"), "hello.txt");
+
+        assertThat(resource.getFilename()).isEqualTo("hello.txt");
+        assertThat(resource.contentLength()).isEqualTo(5);
+    }
+
+    @DisplayName("JUnit test for rejecting digests that are not SHA-256 hex")
+    @Test
+    public void shouldRejectInvalidDigest() {
+        assertThrows(FileStoreException.class, () -> blobStore.resolve("../../etc/passwd"));
+        assertThrows(FileStoreException.class, () -> blobStore.getResource(HELLO_DIGEST, "missing.txt"));
+    }
+
+    private String put(String content) throws IOException {
+        return blobStore.put(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @DisplayName("JUnit test for listing digests in pages after a cursor")
+    @Test
+    public void shouldListDigestsAfterCursor() throws IOException {
+        for (String content : List.of("a", "b", "c")) {
+            blobStore.put(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        }
+        Files.createDirectories(blobStore.resolve(HELLO_DIGEST).getParent());
+        blobStore.putVariant(HELLO_DIGEST, "thumbnail", outputStream -> outputStream.write(1));
+
+        List<String> first = blobStore.list(null, 2);
+        List<String> rest = blobStore.list(first.get(1), 3);
+
+        assertThat(first).hasSize(2).isSorted().contains(HELLO_DIGEST);
+        assertThat(rest).hasSize(2).isSorted();
+        assertThat(rest.get(0)).isGreaterThan(first.get(1));
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.online.store;
+
+import com.online.store.blob.BlobStore;
+import com.online.store.blob.BlobUpload;
+import com.online.store.blob.BlobUploads;
+import com.online.store.exception.FileStoreException;
+import com.online.store.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BlobUploadsTest {
+
+    private static final String HELLO_DIGEST = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    private final BlobStore blobStore = new BlobStore();
+    private final BlobUploads blobUploads = new BlobUploads();
+
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ReflectionTestUtils.setField(blobStore, "rootPath", root.toString());
+        blobStore.init();
+        ReflectionTestUtils.setField(blobUploads, "blobStore", blobStore);
+        ReflectionTestUtils.setField(blobUploads, "chunkSize", DataSize.ofBytes(2));
+        ReflectionTestUtils.setField(blobUploads, "maxSize", DataSize.ofBytes(100));
+        blobUploads.init();
+    }
+
+    @DisplayName("JUnit test for assembling parts sent out of order and in parallel")
+    @Test
+    public void shouldAssemblePartsInParallel() throws IOException {
+        BlobUpload upload = blobUploads.initiate("hello.txt", 5);
+
+        CompletableFuture.allOf(IntStream.of(2, 0, 1)
+                .mapToObj(index -> CompletableFuture.runAsync(() -> putPart(upload.getId(), index)))
+                .toArray(CompletableFuture[]::new)).join();
+        String digest = blobUploads.commit(blobUploads.find(upload.getId()));
+
+        assertThat(upload.getChunks()).isEqualTo(3);
+        assertThat(digest).isEqualTo(HELLO_DIGEST);
+        assertThat(Files.readString(blobStore.resolve(digest))).isEqualTo("hello");
+        assertThrows(NotFoundException.class, () -> blobUploads.find(upload.getId()));
+    }
+
+    @DisplayName("JUnit test for resuming an upload from the parts still missing")
+    @Test
+    public void shouldReportMissingParts() throws IOException {
+        BlobUpload upload = blobUploads.initiate("hello.txt", 5);
+        putPart(upload.getId(), 1);
+
+        BlobUpload resumed = blobUploads.find(upload.getId());
+
+        assertThat(resumed.getName()).isEqualTo("hello.txt");
+        assertThat(resumed.getMissing()).isEqualTo(List.of(0, 2));
+        assertThrows(FileStoreException.class, () -> blobUploads.commit(resumed));
+    }
+
+    @DisplayName("JUnit test for rejecting a part that is truncated or does not match its digest")
+    @Test
+    public void shouldRejectDamagedPart() throws IOException {
+        String id = blobUploads.initiate("hello.txt", 5).getId();
+
+        assertThrows(FileStoreException.class, () -> blobUploads.putPart(id, 0, null, stream("h")));
+        assertThrows(FileStoreException.class, () -> blobUploads.putPart(id, 0, HELLO_DIGEST, stream("he")));
+        blobUploads.putPart(id, 0, sha256("he"), stream("he"));
+
+        assertThat(blobUploads.find(id).getMissing()).isEqualTo(List.of(1, 2));
+    }
+
+    @DisplayName("JUnit test for rejecting a part that arrives after commit")
+    @Test
+    public void shouldRejectPartAfterCommit() throws IOException {
+        String id = blobUploads.initiate("hello.txt", 5).getId();
+        IntStream.range(0, 3).forEach(index -> putPart(id, index));
+        BlobUpload upload = blobUploads.find(id);
+        String digest = blobUploads.commit(upload);
+
+        assertThrows(NotFoundException.class, () -> blobUploads.putPart(id, 0, null, stream("jo")));
+        assertThrows(NotFoundException.class, () -> blobUploads.commit(upload));
+        assertThat(Files.readString(blobStore.resolve(digest))).isEqualTo("hello");
+    }
+
+    @DisplayName("JUnit test for committing only after the parts being written are stored")
+    @Test
+    public void shouldWaitForPartsInFlight() throws Exception {
+        String id = blobUploads.initiate("hello.txt", 5).getId();
+        putPart(id, 0);
+        putPart(id, 1);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowPart = new SequenceInputStream(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return -1;
+            }
+        }, stream("o"));
+
+        CompletableFuture<Void> part = CompletableFuture.runAsync(() -> {
+            try {
+                blobUploads.putPart(id, 2, null, slowPart);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        reading.await();
+        CompletableFuture<String> commit = CompletableFuture.supplyAsync(() -> {
+            try {
+                return blobUploads.commit(blobUploads.find(id));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+
+        assertThat(commit).isNotDone();
+        release.countDown();
+        part.get(10, TimeUnit.SECONDS);
+        assertThat(commit.get(10, TimeUnit.SECONDS)).isEqualTo(HELLO_DIGEST);
+    }
+
+    @DisplayName("JUnit test for discarding an aborted upload")
+    @Test
+    public void shouldAbortUpload() throws IOException {
+        String id = blobUploads.initiate("hello.txt", 5).getId();
+
+        blobUploads.abort(id);
+
+        assertThrows(NotFoundException.class, () -> blobUploads.find(id));
+        assertThrows(FileStoreException.class, () -> blobUploads.initiate("huge.bin", 101));
+    }
+
+    private void putPart(String id, int index) {
+        try {
+            blobUploads.putPart(id, index, null, stream("hello".substring(index * 2, Math.min(5, index * 2 + 2))));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(BlobStore.DIGEST_ALGORITHM)
+                    .digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.online.store;
+
+import com.online.store.cache.CacheInvalidator;
+import com.online.store.entity.CacheInvalidation;
+import com.online.store.repository.CacheInvalidationRepository;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheInvalidatorTest {
+
+    @InjectMocks
+    private CacheInvalidator cacheInvalidator;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager("products", "categories");
+    @Mock
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    private Cache products;
+
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(cacheInvalidator, "window", Duration.ofSeconds(30));
+        products = cacheManager.getCache("products");
+        products.put(28L, "wrenche");
+        products.put(29L, "Laser Level");
+    }
+
+    @DisplayName("JUnit test for local eviction recorded for other instances")
+    @Test
+    public void shouldEvictAndRecordInvalidation() {
+        cacheInvalidator.evict("products", 28L);
+
+        assertThat(products.get(28L)).isNull();
+        assertThat(products.get(29L)).isNotNull();
+        verify(cacheInvalidationRepository).save(any(CacheInvalidation.class));
+    }
+
+    @DisplayName("JUnit test for applying invalidations written by other instances")
+    @Test
+    public void shouldApplyRemoteInvalidationsOnce() {
+        when(cacheInvalidationRepository.findMaxSequenceNumber()).thenReturn(0L);
+        when(cacheInvalidationRepository.findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(0L))
+                .thenReturn(List.of(invalidation(1L, 29L, LocalDateTime.now())));
+
+        cacheInvalidator.poll();
+        assertThat(products.get(29L)).isNull();
+
+        products.put(29L, "Laser Level");
+        cacheInvalidator.poll();
+        assertThat(products.get(29L)).isNotNull();
+        assertThat(products.get(28L)).isNotNull();
+        verify(cacheInvalidationRepository).findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(1L);
+    }
+
+    @DisplayName("JUnit test for applying an invalidation committed after a later one regardless of its clock")
+    @Test
+    public void shouldApplyInvalidationCommittedLate() {
+        ReflectionTestUtils.setField(cacheInvalidator, "lastSequenceNumber", 0L);
+        when(cacheInvalidationRepository.findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(0L))
+                .thenReturn(List.of(invalidation(3L, 29L, LocalDateTime.now())));
+        cacheInvalidator.poll();
+        products.put(29L, "Laser Level");
+
+        when(cacheInvalidationRepository.findBySequenceNumberIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(invalidation(2L, 28L, LocalDateTime.now().minusHours(1))));
+        cacheInvalidator.poll();
+
+        assertThat(products.get(28L)).isNull();
+        assertThat(products.get(29L)).isNotNull();
+        assertThat(ReflectionTestUtils.getField(cacheInvalidator, "pending")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsOnlyKeys(1L);
+        verify(cacheInvalidationRepository, times(2)).deleteOlderThan(any(), eq(3L));
+    }
+
+    @DisplayName("JUnit test for clearing caches when polls were missed")
+    @Test
+    public void shouldClearCachesAfterMissedPolls() {
+        ReflectionTestUtils.setField(cacheInvalidator, "lastSequenceNumber", 0L);
+        ReflectionTestUtils.setField(cacheInvalidator, "lastPoll", LocalDateTime.now().minusMinutes(5));
+
+        cacheInvalidator.poll();
+
+        assertThat(products.get(28L)).isNull();
+        assertThat(products.get(29L)).isNull();
+    }
+
+    private static CacheInvalidation invalidation(Long sequenceNumber, Long entryId, LocalDateTime createDate) {
+        CacheInvalidation invalidation = new CacheInvalidation("products", entryId, createDate);
+        invalidation.setSequenceNumber(sequenceNumber);
+        return invalidation;
+    }
+
+}
@@ -0,0 +1,295 @@
+package com.online.store;
+
+import com.online.store.catalog.CatalogFormat;
+import com.online.store.catalog.CatalogRow;
+import com.online.store.dto.request.CategoryRequest;
+import com.online.store.dto.response.CatalogImportResponse;
+import com.online.store.dto.response.CategoryResponse;
+import com.online.store.dto.response.FeatureResponse;
+import com.online.store.dto.response.ProductResponse;
+import com.online.store.entity.Feature;
+import com.online.store.entity.Product;
+import com.online.store.repository.CatalogRepository;
+import com.online.store.repository.CategoryNode;
+import com.online.store.repository.CategoryRepository;
+import com.online.store.repository.FeatureKeyNode;
+import com.online.store.repository.FeatureKeyRepository;
+import com.online.store.repository.FeatureRepository;
+import com.online.store.repository.ProductRepository;
+import com.online.store.search.ProductSearchIndex;
+import com.online.store.service.CategoryService;
+import com.online.store.service.FeatureService;
+import com.online.store.service.impl.CatalogServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogServiceTest {
+
+    @InjectMocks
+    private CatalogServiceImpl catalogService;
+
+    @Mock
+    private CatalogRepository catalogRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private FeatureRepository featureRepository;
+    @Mock
+    private FeatureKeyRepository featureKeyRepository;
+    @Mock
+    private CategoryService categoryService;
+    @Mock
+    private FeatureService featureService;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<CatalogRow> inserted = new ArrayList<>();
+
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(catalogService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(catalogService, "chunkSize", 2);
+        ReflectionTestUtils.setField(catalogService, "parallelism", 2);
+        catalogService.init();
+
+        Feature brand = new Feature();
+        brand.setId(16L);
+        brand.setName("Brand");
+        when(categoryRepository.findAllNodes()).thenReturn(List.of(categoryNode(2L, "Hand Tools", null),
+                categoryNode(15L, "Wrenches", 2L)));
+        when(featureRepository.findAll(any(Sort.class))).thenReturn(List.of(brand));
+        when(featureKeyRepository.findAllNodes()).thenReturn(List.of(featureKeyNode(20L, "Polax", 16L)));
+        lenient().when(catalogRepository.reserveIds(eq(Product.class), anyInt())).thenReturn(100L, 200L, 300L);
+        lenient().doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(catalogRepository).insertProducts(anyList(), any());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        catalogService.shutdown();
+    }
+
+
+    @DisplayName("JUnit test for importing a CSV catalog against known names")
+    @Test
+    public void shouldImportCsvWithKnownNames() {
+        CatalogImportResponse response = importCatalog(CatalogFormat.CSV,
+                "name,codeUnit,isActive,maxPrice,price,description,category,features",
+                "wrench,A1,true,900,800,\"steel, 10 mm\",Hand Tools/Wrenches,brand=POLAX",
+                "",
+                "spanner,A2,false,700,600,,hand tools/wrenches,",
+                "socket,A3,true,500,400,,Hand Tools/Wrenches,Brand=Polax");
+
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getRejected()).isZero();
+        assertThat(inserted).extracting(CatalogRow::getId).containsExactly(100L, 200L, 201L);
+        assertThat(inserted).extracting(CatalogRow::getCategoryId).containsOnly(15L);
+        assertThat(inserted.get(0).getDescription()).isEqualTo("steel, 10 mm");
+        assertThat(inserted.get(0).getFeatureKeysId()).containsExactly(20L);
+        assertThat(inserted.get(1).getFeatureKeysId()).isEmpty();
+        verifyNoInteractions(categoryService, featureService);
+        verify(productSearchIndex, times(2)).indexAll(anyList(), any());
+    }
+
+    @DisplayName("JUnit test for creating missing categories and features once")
+    @Test
+    public void shouldCreateMissingNamesOnce() {
+        when(categoryService.createCategory(any())).thenReturn(categoryResponse(40L));
+        when(featureService.createFeature(any())).thenReturn(featureResponse(41L));
+        when(featureService.createFeatureKey(eq(41L), any())).thenReturn(featureResponse(42L));
+
+        CatalogImportResponse response = importCatalog(CatalogFormat.NDJSON,
+                "{\"name\": \"pliers\", \"codeUnit\": \"P1\", \"isActive\": true, \"maxPrice\": 90, \"price\": 80, "
+                        + "\"category\": \"Hand Tools/Pliers\", \"features\": [\"Grip=Rubber\"]}",
+                "{\"name\": \"nippers\", \"codeUnit\": \"P2\", \"isActive\": true, \"maxPrice\": 70, \"price\": 60, "
+                        + "\"category\": \"Hand Tools/pliers\", \"features\": [\"grip=rubber\"]}");
+
+        ArgumentCaptor<CategoryRequest> categoryRequest = ArgumentCaptor.forClass(CategoryRequest.class);
+        verify(categoryService).createCategory(categoryRequest.capture());
+        verify(featureService).createFeature(any());
+        verify(featureService).createFeatureKey(eq(41L), any());
+        assertThat(categoryRequest.getValue().getName()).isEqualTo("Pliers");
+        assertThat(categoryRequest.getValue().getParentCategoryId()).isEqualTo(2L);
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(inserted).extracting(CatalogRow::getCategoryId).containsOnly(40L);
+        assertThat(inserted).flatExtracting(CatalogRow::getFeatureKeysId).containsOnly(42L);
+    }
+
+    @DisplayName("JUnit test for rejecting invalid lines with their line numbers")
+    @Test
+    public void shouldRejectInvalidLines() {
+        CatalogImportResponse response = importCatalog(CatalogFormat.CSV,
+                "name,codeUnit,isActive,maxPrice,price,category",
+                "\"claw",
+                "hammer\",H1,true,90,80,Hand Tools",
+                "mallet,H2,maybe,90,80,Hand Tools",
+                ",H3,true,-5,80,Hand Tools",
+                "level,H5,true,90,80",
+                "\"saw,H4,true,90,80,Hand Tools",
+                "plane,H6,true,90,80,Hand Tools");
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(4);
+        assertThat(response.getErrors()).containsExactly(
+                "4: isActive must be true or false but was maybe",
+                "5: maxPrice must be positive, name must be not empty",
+                "6: expected 6 values but found 5",
+                "7: unterminated quoted value");
+        assertThat(inserted).extracting(CatalogRow::getName).containsExactly("claw\nhammer");
+    }
+
+    @DisplayName("JUnit test for exporting a catalog that imports back unchanged")
+    @Test
+    public void shouldExportCatalogThatImportsBack() throws IOException {
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setName("wrench");
+        productResponse.setCodeUnit("A1");
+        productResponse.setIsActive(true);
+        productResponse.setMaxPrice(900);
+        productResponse.setPrice(800);
+        productResponse.setDescription("steel, \"10\" mm");
+        productResponse.setCategoryId(15L);
+        productResponse.setFeatureKeysId(List.of(20L));
+        doAnswer(invocation -> {
+            invocation.<Consumer<ProductResponse>>getArgument(1).accept(productResponse);
+            return null;
+        }).when(productRepository).scrollResponses(anyInt(), any());
+
+        for (CatalogFormat format : CatalogFormat.values()) {
+            byte[] catalog = exportCatalog(format);
+            inserted.clear();
+
+            CatalogImportResponse response = catalogService.importProducts(new ByteArrayInputStream(catalog), format);
+
+            assertThat(response.getImported()).as(format.name()).isEqualTo(1);
+            assertThat(inserted.get(0).getDescription()).isEqualTo("steel, \"10\" mm");
+            assertThat(inserted.get(0).getCategoryId()).isEqualTo(15L);
+            assertThat(inserted.get(0).getFeatureKeysId()).containsExactly(20L);
+        }
+        assertThat(new String(exportCatalog(CatalogFormat.CSV), StandardCharsets.UTF_8)).isEqualTo(
+                CatalogFormat.CSV.header() + System.lineSeparator()
+                        + "wrench,A1,true,900,800,\"steel, \"\"10\"\" mm\",Hand Tools/Wrenches,Brand=Polax"
+                        + System.lineSeparator());
+    }
+
+    @DisplayName("JUnit test for importing back an exported description that spans several lines")
+    @Test
+    public void shouldImportMultiLineDescriptionBack() throws IOException {
+        String description = "steel, \"10\" mm\nforged\n\nchrome, plated";
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setName("wrench");
+        productResponse.setCodeUnit("A1");
+        productResponse.setIsActive(true);
+        productResponse.setMaxPrice(900);
+        productResponse.setPrice(800);
+        productResponse.setDescription(description);
+        productResponse.setCategoryId(15L);
+        doAnswer(invocation -> {
+            Consumer<ProductResponse> consumer = invocation.getArgument(1);
+            consumer.accept(productResponse);
+            consumer.accept(productResponse);
+            return null;
+        }).when(productRepository).scrollResponses(anyInt(), any());
+
+        CatalogImportResponse response = catalogService.importProducts(
+                new ByteArrayInputStream(exportCatalog(CatalogFormat.CSV)), CatalogFormat.CSV);
+
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(inserted).extracting(CatalogRow::getDescription).containsExactly(description, description);
+    }
+
+    private byte[] exportCatalog(CatalogFormat format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        catalogService.exportProducts(outputStream, format);
+        return outputStream.toByteArray();
+    }
+
+    private CatalogImportResponse importCatalog(CatalogFormat format, String... lines) {
+        String catalog = List.of(lines).stream().collect(Collectors.joining("\n"));
+        return catalogService.importProducts(new ByteArrayInputStream(catalog.getBytes(StandardCharsets.UTF_8)),
+                format);
+    }
+
+    private static CategoryNode categoryNode(Long id, String name, Long parentId) {
+        return new CategoryNode() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getParentId() {
+                return parentId;
+            }
+        };
+    }
+
+    private static FeatureKeyNode featureKeyNode(Long id, String name, Long featureId) {
+        return new FeatureKeyNode() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getFeatureId() {
+                return featureId;
+            }
+        };
+    }
+
+    private static CategoryResponse categoryResponse(Long id) {
+        CategoryResponse categoryResponse = new CategoryResponse();
+        categoryResponse.setId(id);
+        return categoryResponse;
+    }
+
+    private static FeatureResponse featureResponse(Long id) {
+        FeatureResponse featureResponse = new FeatureResponse();
+        featureResponse.setId(id);
+        return featureResponse;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.online.store;
+
+import com.online.store.repository.CategoryNode;
+import com.online.store.repository.CategoryRepository;
+import com.online.store.search.CategoryTree;
+import com.online.store.util.CategoryConversionUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryTreeTest {
+
+    @InjectMocks
+    private CategoryTree categoryTree;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+
+    @BeforeEach
+    public void setup() {
+        when(categoryRepository.findAllNodes()).thenReturn(List.of(
+                node(8L, "Drills", null),
+                node(2L, "Hand Tools", null),
+                node(7L, "Levels", 2L),
+                node(16L, "Laser Levels", 7L),
+                node(15L, "Wrenches", 2L)));
+        categoryTree.rebuild();
+    }
+
+    @DisplayName("JUnit test for full tree without paging")
+    @Test
+    public void shouldGiveWholeTree() {
+        Map<Long, CategoryConversionUtil> tree = categoryTree.find(null);
+
+        assertThat(tree).containsOnlyKeys(8L, 2L, 7L, 16L, 15L);
+        assertThat(names(tree.get(2L).getChildren())).containsExactly("Levels", "Wrenches");
+        assertThat(names(tree.get(7L).getChildren())).containsExactly("Laser Levels");
+        verify(categoryRepository, times(1)).findAllNodes();
+    }
+
+    @DisplayName("JUnit test for subtree by name ignoring case")
+    @Test
+    public void shouldGiveSubtreeByName() {
+        assertThat(categoryTree.find("hand tools")).containsOnlyKeys(2L, 7L, 16L, 15L);
+        assertThat(categoryTree.find("Unknown")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for immutable snapshot")
+    @Test
+    public void shouldNotAllowChangingSnapshot() {
+        Map<Long, CategoryConversionUtil> tree = categoryTree.find(null);
+
+        assertThatThrownBy(() -> tree.remove(2L)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tree.get(2L).addChild(tree.get(8L)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static List<String> names(List<CategoryConversionUtil> nodes) {
+        return nodes.stream().map(CategoryConversionUtil::getNodeName).collect(Collectors.toList());
+    }
+
+    private static CategoryNode node(Long id, String name, Long parentId) {
+        return new CategoryNode() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getParentId() {
+                return parentId;
+            }
+        };
+    }
+
+}
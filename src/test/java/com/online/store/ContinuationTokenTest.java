@@ -0,0 +1,78 @@
+package com.online.store;
+
+import com.online.store.dto.response.SliceResponse;
+import com.online.store.entity.Category;
+import com.online.store.exception.InvalidPageSizeException;
+import com.online.store.exception.InvalidTokenException;
+import com.online.store.util.ContinuationToken;
+import com.online.store.util.SliceConversionUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ContinuationTokenTest {
+
+    @DisplayName("JUnit test for token round trip")
+    @Test
+    public void shouldDecodeEncodedToken() {
+        String token = ContinuationToken.after(category(7L, "Levels"), "name").encode();
+
+        ContinuationToken continuationToken = ContinuationToken.decode(token, "name");
+
+        assertThat(continuationToken.getValue()).isEqualTo("Levels");
+        assertThat(continuationToken.getId()).isEqualTo(7L);
+    }
+
+    @DisplayName("JUnit test for token issued for another sort")
+    @Test
+    public void shouldRejectTokenOfAnotherSort() {
+        String token = ContinuationToken.after(category(7L, "Levels"), "name").encode();
+
+        assertThatThrownBy(() -> ContinuationToken.decode(token, "id")).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> ContinuationToken.decode("not a token", "name"))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @DisplayName("JUnit test for slice built from one extra row")
+    @Test
+    public void shouldBuildSliceWithNextToken() {
+        List<Category> categories = List.of(category(2L, "Drills"), category(7L, "Levels"), category(15L, "Wrenches"));
+
+        SliceResponse<String> slice = new SliceConversionUtil().fromEntities(categories, 2, "name", this::names);
+
+        assertThat(slice.getContent()).containsExactly("Drills", "Levels");
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(ContinuationToken.decode(slice.getContinuationToken(), "name").getId()).isEqualTo(7L);
+
+        SliceResponse<String> last = new SliceConversionUtil().fromEntities(categories, 3, "name", this::names);
+
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getContinuationToken()).isNull();
+    }
+
+    @DisplayName("JUnit test for slice page size below one")
+    @Test
+    public void shouldRejectEmptyPageSize() {
+        assertThat(SliceConversionUtil.checkPageSize(1)).isEqualTo(1);
+        assertThatThrownBy(() -> SliceConversionUtil.checkPageSize(0)).isInstanceOf(InvalidPageSizeException.class);
+        assertThatThrownBy(() -> SliceConversionUtil.checkPageSize(null))
+                .isInstanceOf(InvalidPageSizeException.class);
+    }
+
+    private List<String> names(List<Category> categories) {
+        return categories.stream().map(Category::getName).collect(Collectors.toList());
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.online.store;
+
+import com.online.store.entity.FeatureKey;
+import com.online.store.entity.Product;
+import com.online.store.entity.ProductImage;
+import com.online.store.entity.Roles;
+import com.online.store.entity.User;
+import com.online.store.entity.enums.Role;
+import com.online.store.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class EntityIdentityTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private Long productId;
+    private Long featureKeyId;
+    private Long imageId;
+    private Long roleId;
+    private Long userId;
+
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        FeatureKey featureKey = new FeatureKey();
+        featureKey.setName("Polax");
+        ProductImage productImage = new ProductImage();
+        productImage.setPath("/images/wrench.png");
+        Roles customer = new Roles(Role.CUSTOMER);
+        entityManager.persist(featureKey);
+        entityManager.persist(productImage);
+        entityManager.persist(customer);
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product("wrench " + i, "A" + i, true, 100, 100, null);
+            product.addFeatureKey(featureKey);
+            product.addImage(productImage);
+            entityManager.persist(product);
+            User user = new User("secret", "John", "Doe", "john" + i + "@mail.com");
+            user.getRoles().add(customer);
+            user.addFavouriteProduct(product);
+            entityManager.persist(user);
+        }
+        Product product = entityManager.persist(new Product("level", "B1", true, 200, 200, null));
+        User user = entityManager.persist(new User("secret", "Jane", "Doe", "jane@mail.com"));
+        productId = product.getId();
+        featureKeyId = featureKey.getId();
+        imageId = productImage.getId();
+        roleId = customer.getId();
+        userId = user.getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+
+    @DisplayName("JUnit test for linking entities without loading inverse collections")
+    @Test
+    public void shouldLinkWithoutLoadingInverseSide() {
+        Product product = entityManager.find(Product.class, productId);
+        FeatureKey featureKey = entityManager.find(FeatureKey.class, featureKeyId);
+        ProductImage productImage = entityManager.find(ProductImage.class, imageId);
+        Hibernate.initialize(product.getFeatureKeys());
+        Hibernate.initialize(product.getProductImages());
+        statistics.clear();
+
+        product.addFeatureKey(featureKey);
+        product.addImage(productImage);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(Hibernate.isInitialized(featureKey.getProducts())).isFalse();
+        assertThat(Hibernate.isInitialized(productImage.getProducts())).isFalse();
+    }
+
+    @DisplayName("JUnit test for assigning a role without loading its members")
+    @Test
+    public void shouldAssignRoleWithoutLoadingUsers() {
+        User user = entityManager.find(User.class, userId);
+        Roles customer = entityManager.find(Roles.class, roleId);
+        Hibernate.initialize(user.getRoles());
+        statistics.clear();
+
+        user.getRoles().add(customer);
+
+        assertThat(user.getRoles()).contains(customer);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @DisplayName("JUnit test for loading a user together with its roles")
+    @Test
+    public void shouldLoadUserWithRolesInOneQuery() {
+        statistics.clear();
+
+        User user = userRepository.findUserByEmail("john0@mail.com").orElseThrow();
+
+        assertThat(user.getRoles()).extracting(Roles::getRole).containsExactly(Role.CUSTOMER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for hashing proxies and loaded entities by id")
+    @Test
+    public void shouldHashProxiesWithoutInitializing() {
+        Product loaded = entityManager.find(Product.class, productId);
+        entityManager.clear();
+        Product proxy = entityManager.getEntityManager().getReference(Product.class, productId);
+        statistics.clear();
+
+        Set<Product> products = new HashSet<>();
+        products.add(proxy);
+
+        assertThat(products).contains(loaded);
+        assertThat(proxy).isEqualTo(loaded);
+        assertThat(new Product()).isNotEqualTo(new Product());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(Hibernate.isInitialized(proxy)).isFalse();
+    }
+
+}
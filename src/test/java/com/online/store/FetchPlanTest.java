@@ -0,0 +1,90 @@
+package com.online.store;
+
+import com.online.store.entity.Card;
+import com.online.store.entity.Product;
+import com.online.store.entity.Roles;
+import com.online.store.entity.User;
+import com.online.store.entity.enums.Role;
+import com.online.store.repository.CardRepository;
+import com.online.store.repository.ProductRepository;
+import com.online.store.repository.RoleRepository;
+import com.online.store.repository.UserRepository;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class FetchPlanTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CardRepository cardRepository;
+
+    private Long userId;
+    private Long cardId;
+
+
+    @BeforeEach
+    public void setup() {
+        Roles customer = roleRepository.save(new Roles(Role.CUSTOMER));
+        User user = new User("secret", "John", "Doe", "john@mail.com");
+        user.getRoles().add(customer);
+        userId = userRepository.save(user).getId();
+        Product product = new Product("wrench", "A1", true, 7600, 7600, null);
+        Card card = new Card();
+        card.setQuantity(2);
+        card.setIsActive(true);
+        product.addCard(card);
+        productRepository.save(product);
+        cardId = card.getId();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+
+    @DisplayName("JUnit test for reading planned associations outside a transaction")
+    @Test
+    public void shouldReadPlannedAssociationsOutsideTransaction() {
+        User byEmail = userRepository.findUserByEmail("john@mail.com").orElseThrow();
+        User byId = userRepository.findById(userId).orElseThrow();
+        Card card = cardRepository.findById(cardId).orElseThrow();
+
+        assertThat(byEmail.getRoles()).extracting(Roles::getRole).containsExactly(Role.CUSTOMER);
+        assertThat(byId.getRoles()).extracting(Roles::getRole).containsExactly(Role.CUSTOMER);
+        assertThat(card.getProduct().getPrice()).isEqualTo(7600);
+    }
+
+    @DisplayName("JUnit test for failing fast on unplanned lazy loading")
+    @Test
+    public void shouldFailOnUnplannedLazyLoad() {
+        User user = userRepository.findById(userId).orElseThrow();
+
+        assertThrows(LazyInitializationException.class, () -> user.getFavourites().size());
+    }
+
+}
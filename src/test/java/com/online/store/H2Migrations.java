@@ -0,0 +1,106 @@
+package com.online.store;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.ResourceProvider;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class H2Migrations implements ResourceProvider {
+
+    private static final String LOCATION = "db/migration/";
+    private static final Pattern TABLE_ENGINE = Pattern.compile("\\)\\s*engine\\s*=\\s*\\w+\\s*;", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ALTER_ENGINE = Pattern.compile("alter table [^;]+ engine\\s*=\\s*\\w+\\s*;", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FOREIGN_KEY = Pattern.compile("alter table [^;]+ foreign key [^;]+;", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MY_ISAM = Pattern.compile("engine\\s*=\\s*MyISAM", Pattern.CASE_INSENSITIVE);
+
+    private final List<LoadableResource> migrations = new ArrayList<>();
+
+    public H2Migrations() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath:" + LOCATION + "*.sql")) {
+                migrations.add(new Migration(resource.getFilename(),
+                        toH2(StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8))));
+            }
+        } catch (IOException e) {
+            throw new FlywayException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public LoadableResource getResource(String name) {
+        return migrations.stream()
+                .filter(migration -> migration.getRelativePath().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Collection<LoadableResource> getResources(String prefix, String[] suffixes) {
+        List<LoadableResource> found = new ArrayList<>();
+        for (LoadableResource migration : migrations) {
+            String filename = migration.getFilename();
+            if (filename.startsWith(prefix) && Arrays.stream(suffixes).anyMatch(filename::endsWith)) {
+                found.add(migration);
+            }
+        }
+        return found;
+    }
+
+    static String toH2(String script) {
+        String h2 = script;
+        if (MY_ISAM.matcher(h2).find()) {
+            h2 = FOREIGN_KEY.matcher(h2).replaceAll("");
+        }
+        h2 = ALTER_ENGINE.matcher(h2).replaceAll("");
+        return TABLE_ENGINE.matcher(h2).replaceAll(");");
+    }
+
+    private static final class Migration extends LoadableResource {
+
+        private final String filename;
+        private final String script;
+
+        private Migration(String filename, String script) {
+            this.filename = filename;
+            this.script = script;
+        }
+
+        @Override
+        public Reader read() {
+            return new StringReader(script);
+        }
+
+        @Override
+        public String getAbsolutePath() {
+            return LOCATION + filename;
+        }
+
+        @Override
+        public String getAbsolutePathOnDisk() {
+            return null;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getRelativePath() {
+            return filename;
+        }
+    }
+
+}
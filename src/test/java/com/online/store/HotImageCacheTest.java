@@ -0,0 +1,104 @@
+package com.online.store;
+
+import com.online.store.blob.BlobResponseWriter;
+import com.online.store.blob.BlobStore;
+import com.online.store.blob.CachedBlobResource;
+import com.online.store.image.HotImageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotImageCacheTest {
+
+    @TempDir
+    Path root;
+
+    private final BlobStore blobStore = new BlobStore();
+    private final HotImageCache hotImageCache = new HotImageCache();
+
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ReflectionTestUtils.setField(blobStore, "rootPath", root.toString());
+        blobStore.init();
+        ReflectionTestUtils.setField(hotImageCache, "maxSize", DataSize.ofBytes(100));
+        ReflectionTestUtils.setField(hotImageCache, "maxEntrySize", DataSize.ofBytes(40));
+        hotImageCache.init();
+    }
+
+    @DisplayName("JUnit test for serving a repeat hit without touching the filesystem")
+    @Test
+    public void shouldServeRepeatHitFromMemory() throws IOException {
+        String digest = blobStore.put(new ByteArrayInputStream(new byte[30]));
+        hotImageCache.put(blobStore.getResource(digest, "saw.png"));
+        Files.delete(blobStore.resolve(digest));
+
+        Resource resource = hotImageCache.get(digest, "drill.png");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new BlobResponseWriter().write(resource, ContentDisposition.attachment().filename("drill.png").build(),
+                new MockHttpServletRequest("GET", "/images/1"), response);
+
+        assertThat(resource).isInstanceOf(CachedBlobResource.class);
+        assertThat(resource.getFilename()).isEqualTo("drill.png");
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsByteArray()).hasSize(30);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + digest + "\"");
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(hotImageCache.getStats().hitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for leaving images above the entry limit on disk")
+    @Test
+    public void shouldNotCacheLargeImages() throws IOException {
+        String digest = blobStore.put(new ByteArrayInputStream(new byte[50]));
+
+        Resource resource = hotImageCache.put(blobStore.getResource(digest, "saw.png"));
+
+        assertThat(resource).isNotInstanceOf(CachedBlobResource.class);
+        assertThat(hotImageCache.get(digest, "saw.png")).isNull();
+        assertThat(hotImageCache.getWeightedSize()).isZero();
+    }
+
+    @DisplayName("JUnit test for bounding the cache by total bytes")
+    @Test
+    public void shouldBoundCacheByBytes() throws IOException {
+        for (int i = 1; i <= 5; i++) {
+            String digest = blobStore.put(new ByteArrayInputStream(new byte[30 + i]));
+            hotImageCache.put(blobStore.getResource(digest, "saw.png"));
+        }
+        hotImageCache.cleanUp();
+
+        assertThat(hotImageCache.getWeightedSize()).isLessThanOrEqualTo(100);
+    }
+
+    @DisplayName("JUnit test for invalidating an image together with its variants")
+    @Test
+    public void shouldInvalidateVariants() throws IOException {
+        String digest = blobStore.put(new ByteArrayInputStream(new byte[10]));
+        blobStore.putVariant(digest, "thumbnail", outputStream -> outputStream.write(new byte[5]));
+        hotImageCache.put(blobStore.getResource(digest, "saw.png"));
+        hotImageCache.put(blobStore.getResource(digest, "thumbnail", "saw-thumbnail.jpg"));
+
+        hotImageCache.invalidate(digest);
+
+        assertThat(hotImageCache.get(digest, "saw.png")).isNull();
+        assertThat(hotImageCache.get(BlobStore.getTag(digest, "thumbnail"), "saw-thumbnail.jpg")).isNull();
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.online.store;
+
+import com.online.store.blob.BlobStore;
+import com.online.store.image.ImageDerivatives;
+import com.online.store.image.ImageVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImageDerivativesTest {
+
+    private static final int PNG_WIDTH = 16;
+
+    @TempDir
+    Path root;
+
+    private final BlobStore blobStore = new BlobStore();
+    private final ImageDerivatives imageDerivatives = new ImageDerivatives();
+
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ReflectionTestUtils.setField(blobStore, "rootPath", root.toString());
+        blobStore.init();
+        ReflectionTestUtils.setField(imageDerivatives, "blobStore", blobStore);
+        ReflectionTestUtils.setField(imageDerivatives, "threads", 1);
+        ReflectionTestUtils.setField(imageDerivatives, "queueCapacity", 10);
+        ReflectionTestUtils.setField(imageDerivatives, "maxPixels", 1_000_000L);
+        ReflectionTestUtils.setField(imageDerivatives, "undecodableCapacity", 10);
+        imageDerivatives.init();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        imageDerivatives.shutdown();
+    }
+
+    @DisplayName("JUnit test for deriving every variant within its bounding box")
+    @Test
+    public void shouldDeriveScaledVariants() throws IOException {
+        String digest = putImage(1000, 500);
+
+        imageDerivatives.generate(digest);
+
+        assertThat(imageDerivatives.isComplete(digest)).isTrue();
+        assertThat(readVariant(digest, ImageVariant.THUMBNAIL))
+                .extracting(BufferedImage::getWidth, BufferedImage::getHeight)
+                .containsExactly(160, 80);
+        assertThat(readVariant(digest, ImageVariant.LISTING))
+                .extracting(BufferedImage::getWidth, BufferedImage::getHeight)
+                .containsExactly(480, 240);
+    }
+
+    @DisplayName("JUnit test for never upscaling small images")
+    @Test
+    public void shouldNotUpscaleSmallImages() throws IOException {
+        String digest = putImage(100, 40);
+
+        imageDerivatives.generate(digest);
+
+        assertThat(readVariant(digest, ImageVariant.LISTING))
+                .extracting(BufferedImage::getWidth, BufferedImage::getHeight)
+                .containsExactly(100, 40);
+    }
+
+    @DisplayName("JUnit test for skipping blobs that are not images")
+    @Test
+    public void shouldSkipNonImages() throws IOException {
+        String digest = blobStore.put(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        imageDerivatives.generate(digest);
+
+        assertThat(imageDerivatives.isComplete(digest)).isFalse();
+        assertThat(blobStore.exists(digest, ImageVariant.THUMBNAIL.getKey())).isFalse();
+    }
+
+    @DisplayName("JUnit test for queueing an image only once while its variants are pending")
+    @Test
+    public void shouldSkipDigestInFlight() throws Exception {
+        String digest = putImage(100, 40);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(imageDerivatives, "executor");
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        imageDerivatives.submit(digest);
+        imageDerivatives.submit(digest);
+
+        assertThat(executor.getQueue()).hasSize(1);
+        busy.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(imageDerivatives.isComplete(digest)).isTrue();
+    }
+
+    @DisplayName("JUnit test for not queueing blobs already found not to be images")
+    @Test
+    public void shouldRememberUndecodableDigests() throws IOException {
+        String digest = blobStore.put(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(imageDerivatives, "executor");
+
+        imageDerivatives.generate(digest);
+        imageDerivatives.submit(digest);
+
+        assertThat(executor.getTaskCount()).isZero();
+    }
+
+    @DisplayName("JUnit test for skipping an image whose header declares too many pixels")
+    @Test
+    public void shouldSkipOversizedImages() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+        byte[] png = outputStream.toByteArray();
+        ByteBuffer header = ByteBuffer.wrap(png);
+        header.putInt(PNG_WIDTH, 40000).putInt(PNG_WIDTH + 4, 40000);
+        CRC32 crc = new CRC32();
+        crc.update(png, PNG_WIDTH - 4, 17);
+        header.putInt(PNG_WIDTH + 13, (int) crc.getValue());
+        String digest = blobStore.put(new ByteArrayInputStream(png));
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(imageDerivatives, "executor");
+
+        imageDerivatives.generate(digest);
+        imageDerivatives.submit(digest);
+
+        assertThat(imageDerivatives.isComplete(digest)).isFalse();
+        assertThat(executor.getTaskCount()).isZero();
+    }
+
+    @DisplayName("JUnit test for naming variants after the original upload")
+    @Test
+    public void shouldNameVariantsAfterOriginal() {
+        assertThat(ImageDerivatives.getName("saw.png", ImageVariant.THUMBNAIL)).isEqualTo("saw-thumbnail.jpg");
+        assertThat(ImageDerivatives.getName(null, ImageVariant.LISTING)).isEqualTo("listing.jpg");
+    }
+
+    private String putImage(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", outputStream);
+        return blobStore.put(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    private BufferedImage readVariant(String digest, ImageVariant variant) throws IOException {
+        return ImageIO.read(blobStore.resolve(digest, variant.getKey()).toFile());
+    }
+
+}
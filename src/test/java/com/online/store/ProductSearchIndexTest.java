@@ -0,0 +1,214 @@
+package com.online.store;
+
+import com.online.store.dto.request.ProductFindRequest;
+import com.online.store.dto.response.ProductResponse;
+import com.online.store.entity.Category;
+import com.online.store.entity.FeatureKey;
+import com.online.store.entity.Product;
+import com.online.store.entity.ProductFile;
+import com.online.store.entity.ProductImage;
+import com.online.store.repository.CategoryRepository;
+import com.online.store.repository.FeatureKeyRepository;
+import com.online.store.repository.ProductRepository;
+import com.online.store.search.ProductSearchIndex;
+import com.online.store.util.ProductConversionUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSearchIndexTest {
+
+    @InjectMocks
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private FeatureKeyRepository featureKeyRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Category handTools;
+    private Category levels;
+    private FeatureKey polax;
+
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(productSearchIndex, "enabled", true);
+        handTools = category(2L, "Hand Tools", null);
+        levels = category(7L, "Levels", handTools);
+        Category wrenches = category(15L, "Wrenches", handTools);
+        Category drills = category(8L, "Drills", null);
+        Category laserLevels = category(16L, "Laser Levels", levels);
+        polax = featureKey(20L, "Polax");
+
+        Product wrench = product(28L, "wrenche", 7600, wrenches);
+        wrench.addFeatureKey(polax);
+        Product level = product(29L, "Laser Level", 23000, levels);
+        Product drill = product(30L, "drill", 205000, drills);
+        Product plumb = product(31L, "plumb", 900, laserLevels);
+
+        when(categoryRepository.findAll()).thenReturn(List.of(handTools, levels, wrenches, drills, laserLevels));
+        when(featureKeyRepository.findAll()).thenReturn(List.of(polax));
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(wrench, level, drill, plumb)));
+        when(productRepository.findResponsesByIds(any())).thenReturn(Stream.of(wrench, level, drill, plumb)
+                .map(product -> new ProductConversionUtil().fromProduct(product))
+                .collect(Collectors.toList()));
+        productSearchIndex.rebuild();
+    }
+
+
+    @DisplayName("JUnit test for search by exact name ignoring case")
+    @Test
+    public void shouldFindProductByExactName() {
+        assertThat(ids(search("DRILL", request -> {
+        }))).containsExactly(30L);
+    }
+
+    @DisplayName("JUnit test for search by like pattern")
+    @Test
+    public void shouldFindProductsByPattern() {
+        assertThat(ids(search("%l_vel%", request -> {
+        }))).containsExactly(29L);
+        assertThat(ids(search("%r%", request -> {
+        }))).containsExactly(30L, 29L, 28L);
+    }
+
+    @DisplayName("JUnit test for search by category, ancestor category and feature")
+    @Test
+    public void shouldIntersectFilters() {
+        assertThat(ids(search(null, request -> request.setParentCategory("Hand Tools")))).containsExactly(29L, 31L, 28L);
+        assertThat(ids(search(null, request -> request.setParentCategory("Levels")))).containsExactly(31L);
+        assertThat(ids(search(null, request -> {
+            request.setParentCategory("Hand Tools");
+            request.setFeature("polax");
+        }))).containsExactly(28L);
+        assertThat(ids(search(null, request -> request.setCategory("Drills")))).containsExactly(30L);
+        assertThat(ids(search(null, request -> request.setPrice(7600)))).containsExactly(28L);
+    }
+
+    @DisplayName("JUnit test for paging and sorting")
+    @Test
+    public void shouldPageSortedResults() {
+        List<ProductResponse> page = search(null, request -> {
+            request.setSortBy("price");
+            request.setPageNumber(1);
+            request.setPageSize(2);
+        });
+        assertThat(ids(page)).containsExactly(29L, 30L);
+    }
+
+    @DisplayName("JUnit test for incremental updates without database access")
+    @Test
+    public void shouldApplyIncrementalUpdates() {
+        Product saw = product(32L, "saw", 1200, levels);
+        productSearchIndex.index(saw);
+        productSearchIndex.remove(28L);
+        productSearchIndex.removeFeatureKey(polax.getId());
+
+        assertThat(ids(search(null, request -> request.setParentCategory("Hand Tools")))).containsExactly(29L, 31L, 32L);
+        assertThat(search(null, request -> request.setFeature("Polax"))).isEmpty();
+    }
+
+    @DisplayName("JUnit test for keeping products of a deleted category's children under its parent")
+    @Test
+    public void shouldReparentChildrenOfDeletedCategory() {
+        productSearchIndex.indexCategory(category(16L, "Laser Levels", handTools));
+        productSearchIndex.removeCategory(levels.getId());
+
+        assertThat(ids(search(null, request -> request.setParentCategory("Hand Tools")))).containsExactly(31L, 28L);
+        assertThat(search(null, request -> request.setParentCategory("Levels"))).isEmpty();
+    }
+
+    @DisplayName("JUnit test for dropping deleted images and files from indexed products")
+    @Test
+    public void shouldRemoveImagesAndFiles() {
+        Product saw = product(32L, "saw", 1200, levels);
+        saw.addImage(image(40L));
+        saw.addImage(image(41L));
+        saw.addFile(file(42L));
+        productSearchIndex.index(saw);
+
+        productSearchIndex.removeImage(40L);
+        productSearchIndex.removeFile(42L);
+        productSearchIndex.removeImage(43L);
+
+        ProductResponse indexed = search("saw", request -> {
+        }).get(0);
+        assertThat(indexed.getImages()).containsExactly(41L);
+        assertThat(indexed.getFiles()).isEmpty();
+    }
+
+    @DisplayName("JUnit test for fallback when sort field is not indexed")
+    @Test
+    public void shouldSkipUnknownSortField() {
+        ProductFindRequest productFindRequest = new ProductFindRequest(null, 0, 10, "category");
+
+        assertThat(productSearchIndex.search(productFindRequest)).isEmpty();
+    }
+
+    private List<ProductResponse> search(String name, Consumer<ProductFindRequest> filters) {
+        ProductFindRequest productFindRequest = new ProductFindRequest(name, 0, 20, "name");
+        filters.accept(productFindRequest);
+        return productSearchIndex.search(productFindRequest).orElseThrow();
+    }
+
+    private static List<Long> ids(List<ProductResponse> products) {
+        return products.stream().map(ProductResponse::getId).collect(Collectors.toList());
+    }
+
+    private static Category category(Long id, String name, Category parent) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setParentCategory(parent);
+        return category;
+    }
+
+    private static FeatureKey featureKey(Long id, String name) {
+        FeatureKey featureKey = new FeatureKey();
+        featureKey.setId(id);
+        featureKey.setName(name);
+        return featureKey;
+    }
+
+    private static ProductImage image(Long id) {
+        ProductImage productImage = new ProductImage();
+        productImage.setId(id);
+        return productImage;
+    }
+
+    private static ProductFile file(Long id) {
+        ProductFile productFile = new ProductFile();
+        productFile.setId(id);
+        return productFile;
+    }
+
+    private static Product product(Long id, String name, Integer price, Category category) {
+        Product product = new Product(name, "A" + id, true, price, price, category);
+        product.setId(id);
+        return product;
+    }
+
+}
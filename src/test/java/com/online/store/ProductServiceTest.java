@@ -1,17 +1,22 @@
 package com.online.store;
 
+import com.online.store.cache.CacheInvalidator;
 import com.online.store.dto.request.ProductFindRequest;
 import com.online.store.dto.request.ProductRequest;
 import com.online.store.dto.response.ProductResponse;
 import com.online.store.entity.Category;
 import com.online.store.entity.Product;
 import com.online.store.exception.NotFoundException;
+import com.online.store.repository.CardRepository;
 import com.online.store.repository.ProductRepository;
 import com.online.store.repository.specification.ProductSpecification;
+import com.online.store.search.ProductSearchIndex;
 import com.online.store.service.CategoryService;
 import com.online.store.service.ProductService;
 import com.online.store.service.UserService;
 import com.online.store.service.impl.ProductServiceImpl;
+import com.online.store.util.Constant;
+import com.online.store.util.ProductConversionUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -46,9 +51,15 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
     @Mock
+    private CardRepository cardRepository;
+    @Mock
     private CategoryService categoryService;
     @Mock
     private UserService userService;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private CacheInvalidator cacheInvalidator;
 
     private ProductRequest productRequest;
     private Product product;
@@ -89,7 +100,8 @@ public class ProductServiceTest {
 
         product.setId(id);
 
-        when(productRepository.findById(id)).thenReturn(Optional.of(product));
+        when(productRepository.findResponsesByIds(List.of(id)))
+                .thenReturn(List.of(new ProductConversionUtil().fromProduct(product)));
 
         ProductResponse savedProduct = productService.findProductById(product.getId());
 
@@ -211,25 +223,27 @@ public class ProductServiceTest {
     @DisplayName("JUnit test for delete product successfully")
     @Test
     public void shouldDeleteProductSuccessFully() {
-        when(productRepository.findById(id)).thenReturn(Optional.of(product));
+        when(productRepository.deleteProduct(id)).thenReturn(1);
 
         productService.deleteProduct(id);
 
-        verify(productRepository, times(1)).delete(product);
+        verify(cardRepository, times(1)).deleteProductCards(id);
+        verify(productRepository, times(1)).deleteFavourites(id);
+        verify(cacheInvalidator, times(1)).evict(Constant.PRODUCT_CACHE, id);
     }
 
     @DisplayName("JUnit test for delete product which throws exception")
     @Test
     public void shouldThrowsExceptionWhenDeleteProduct() {
 
-        when(productRepository.findById(id)).thenReturn(Optional.empty());
+        when(productRepository.deleteProduct(id)).thenReturn(0);
         Exception exception = assertThrows(NotFoundException.class, () -> productService.deleteProduct(id));
 
         String expectedMessage = "product" + id + " not found";
         String actualMessage = exception.getMessage();
         assertTrue(actualMessage.contains(expectedMessage));
 
-        verify(productRepository, never()).delete(any(Product.class));
+        verify(productSearchIndex, never()).remove(id);
     }
 
 }
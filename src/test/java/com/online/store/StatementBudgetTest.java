@@ -0,0 +1,371 @@
+package com.online.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.online.store.catalog.CatalogFormat;
+import com.online.store.controller.ProductDescriptionController;
+import com.online.store.entity.CategoryClosure;
+import com.online.store.entity.IdHolder;
+import com.online.store.entity.ProductFile;
+import com.online.store.entity.ProductImage;
+import com.online.store.entity.enums.Role;
+import com.online.store.image.ImageVariant;
+import com.online.store.repository.CardRepository;
+import com.online.store.repository.CategoryClosureRepository;
+import com.online.store.repository.FileRepository;
+import com.online.store.repository.ImageRepository;
+import com.online.store.service.impl.UserDetailsImpl;
+import com.online.store.seсurity.JwtUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "store.search.enabled=false",
+        "store.blob.root=target/blobs"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StatementBudgetTest {
+
+    private static final Path BLOBS = Paths.get("target", "blobs");
+    private static final Long ADMIN_ID = 3L;
+    private static final String PASSWORD = "Secret12#";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ImageRepository imageRepository;
+    @Autowired
+    private FileRepository fileRepository;
+
+    private final Map<String, Integer> measured = new TreeMap<>();
+    private String token;
+
+
+    @BeforeAll
+    public void setup() {
+        UserDetailsImpl admin = new UserDetailsImpl(ADMIN_ID, null, "First@admin.com",
+                List.of(new SimpleGrantedAuthority(Role.ADMIN.name())));
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(admin, null));
+    }
+
+    @AfterAll
+    public void shouldBudgetEveryEndpoint() throws IOException {
+        FileSystemUtils.deleteRecursively(BLOBS);
+        Set<String> endpoints = handlerMapping.getHandlerMethods().values().stream()
+                .filter(handler -> handler.getBeanType().getPackageName().equals("com.online.store.controller"))
+                .filter(handler -> handler.getBeanType() != ProductDescriptionController.class)
+                .map(StatementBudgetTest::name)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertThat(measured.keySet()).containsExactlyInAnyOrderElementsOf(endpoints);
+    }
+
+
+    @DisplayName("JUnit test for statement budgets of product endpoints")
+    @Test
+    public void shouldKeepProductEndpointsWithinBudget() throws Exception {
+        perform(4, get("/products/28"));
+        perform(5, post("/products/all").content("{\"pageSize\": 20}"));
+        perform(5, post("/products/slice").content("{\"pageSize\": 20}"));
+        assertThat(mockMvc.perform(post("/products/slice").content("{\"pageSize\": 0}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.AUTHORIZATION, "Master " + token))
+                .andReturn().getResponse().getStatus()).isEqualTo(400);
+
+        Long id = id(perform(5, post("/products").content(product("hammer"))));
+        perform(9, put("/products/" + id).content(product("mallet")));
+        perform(4, put("/products/" + id + "/favourites/" + ADMIN_ID));
+        perform(4, delete("/products/" + id + "/favourites/" + ADMIN_ID));
+        perform(4, put("/products/" + id + "/favourites/" + ADMIN_ID));
+        perform(8, delete("/products/" + id));
+    }
+
+    @DisplayName("JUnit test for statement budget of catalog import")
+    @Test
+    public void shouldKeepCatalogImportWithinBudget() throws Exception {
+        String catalog = "name,codeUnit,isActive,maxPrice,price,category,features\n"
+                + "spanner,S1,true,900,800,Hand Tools/Wrenches,Brand=Polax|Country=Poland\n"
+                + "socket,S2,true,500,400,Hand Tools/Wrenches,Brand=DeWalt\n"
+                + "pipe wrench,S3,false,700,600,Hand Tools/Wrenches,\n";
+
+        MvcResult result = perform(5, post("/products/import").content(catalog), CatalogFormat.CSV_MEDIA_TYPE);
+
+        assertThat(objectMapper.readTree(result.getResponse().getContentAsString()).get("imported").asLong())
+                .isEqualTo(3);
+    }
+
+    @DisplayName("JUnit test for statement budget of catalog export")
+    @Test
+    public void shouldKeepCatalogExportWithinBudget() throws Exception {
+        MvcResult result = performAsync(4, get("/products/export").param("format", CatalogFormat.CSV.name()));
+
+        String[] lines = result.getResponse().getContentAsString().split(System.lineSeparator());
+        assertThat(lines[0]).isEqualTo(CatalogFormat.CSV.header());
+        assertThat(lines).hasSizeGreaterThan(4);
+    }
+
+    @DisplayName("JUnit test for statement budgets of category endpoints")
+    @Test
+    public void shouldKeepCategoryEndpointsWithinBudget() throws Exception {
+        perform(1, get("/categories/2"));
+        perform(1, post("/categories/all").content("{\"pageSize\": 20}"));
+        perform(1, post("/categories/slice").content("{\"pageSize\": 20}"));
+        perform(0, post("/categories/tree").content("{}"));
+
+        Long id = id(perform(4, post("/categories").content("{\"name\": \"Pliers\", \"parentCategoryId\": 2}")));
+        perform(7, put("/categories/" + id).content("{\"name\": \"Pliers\", \"parentCategoryId\": 3}"));
+        Long childId = id(perform(4, post("/categories").content("{\"name\": \"Nippers\", \"parentCategoryId\": " + id + "}")));
+        assertThatThrownBy(() -> jdbcTemplate.update("delete from category where id = ?", id))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        perform(9, delete("/categories/" + id));
+        JsonNode child = objectMapper.readTree(perform(1, get("/categories/" + childId)).getResponse().getContentAsString());
+
+        assertThat(child.get("parentCategoryId").asLong()).isEqualTo(3L);
+        assertThat(ancestorIds(childId)).containsExactlyInAnyOrderElementsOf(
+                Stream.concat(ancestorIds(3L).stream(), Stream.of(childId)).collect(Collectors.toList()));
+        perform(5, delete("/categories/" + childId));
+        assertThat(categoryClosureRepository.findAll()).noneMatch(closure ->
+                closure.getAncestorId().equals(id) || closure.getDescendantId().equals(childId));
+    }
+
+    @DisplayName("JUnit test for statement budgets of feature endpoints")
+    @Test
+    public void shouldKeepFeatureEndpointsWithinBudget() throws Exception {
+        perform(1, get("/features/16"));
+        perform(1, get("/features/FeatureKeys/19"));
+
+        Long featureId = id(perform(1, post("/features").content("{\"name\": \"Material\"}")));
+        perform(4, put("/features/" + featureId).content("{\"name\": \"Materials\"}"));
+        Long featureKeyId = id(perform(2, post("/features/" + featureId).content("{\"name\": \"Steel\"}")));
+        perform(5, put("/features/" + featureId + "/featureKey/" + featureKeyId).content("{\"name\": \"Iron\"}"));
+        perform(4, delete("/features/FeatureKeys/" + featureKeyId));
+        perform(3, delete("/features/" + featureId));
+    }
+
+    @DisplayName("JUnit test for statement budgets of user endpoints")
+    @Test
+    public void shouldKeepUserEndpointsWithinBudget() throws Exception {
+        perform(2, get("/users"));
+        perform(1, get("/users/" + ADMIN_ID));
+
+        Long id = id(perform(4, post("/users/register").content(user("budget@mail.com"))));
+        perform(2, post("/users/login").content("{\"email\": \"budget@mail.com\", \"password\": \"" + PASSWORD + "\"}"));
+        perform(7, put("/users/" + id).content(user("budget@mail.com")));
+        perform(10, delete("/users/" + id));
+    }
+
+    @DisplayName("JUnit test for statement budgets of card and order endpoints")
+    @Test
+    public void shouldKeepOrderEndpointsWithinBudget() throws Exception {
+        perform(2, post("/users/cards").content("{\"productId\": 28, \"quantity\": 2}"));
+        Long cardId = lastId(cardRepository.findAll());
+        perform(3, put("/users/cards/" + cardId).param("quantity", "3"));
+        perform(3, delete("/users/cards/" + cardId));
+
+        perform(2, post("/users/cards").content("{\"productId\": 29, \"quantity\": 1}"));
+        Long orderedCardId = lastId(cardRepository.findAll());
+        Long orderId = id(perform(4, post("/users/" + ADMIN_ID + "/orders").param("cardListId", orderedCardId.toString())));
+        perform(1, get("/users/orders/" + orderId));
+        perform(3, put("/users/orders/" + orderId).content("{\"status\": \"COMPLETED\", \"delivery\": 2}"));
+        perform(2, delete("/users/orders/" + orderId));
+    }
+
+    @DisplayName("JUnit test for statement budgets of image and file endpoints")
+    @Test
+    public void shouldKeepImageAndFileEndpointsWithinBudget() throws Exception {
+        perform(1, multipart("/images").file(new MockMultipartFile("path", "saw.png", "image/png", new byte[]{1, 2, 3})));
+        ProductImage image = last(imageRepository.findAll());
+        perform(1, get("/images/" + image.getId()));
+        perform(1, get("/images/" + image.getId()).param("size", ImageVariant.THUMBNAIL.name()));
+
+        perform(1, multipart("/files").file(new MockMultipartFile("path", "saw.pdf", "application/pdf", new byte[]{1, 2, 3})));
+        ProductFile file = last(fileRepository.findAll());
+        MvcResult result = perform(1, get("/files/" + file.getId()));
+
+        assertThat(file.getDigest()).isEqualTo(image.getDigest());
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("saw.pdf");
+        perform(3, delete("/images/" + image.getId()));
+        perform(3, delete("/files/" + file.getId()));
+    }
+
+    @DisplayName("JUnit test for statement budget of batch image upload")
+    @Test
+    public void shouldKeepImageBatchWithinBudget() throws Exception {
+        MvcResult result = perform(1, multipart("/images/batch")
+                .file(new MockMultipartFile("paths", "drill.png", "image/png", new byte[]{7}))
+                .file(new MockMultipartFile("paths", "plane.png", "image/png", new byte[]{8}))
+                .file(new MockMultipartFile("paths", "vise.png", "image/png", new byte[]{9})));
+
+        List<Long> ids = List.of(objectMapper.readValue(result.getResponse().getContentAsString(), Long[].class));
+        assertThat(ids).hasSize(3);
+        assertThat(ids).extracting(id -> imageRepository.findById(id).orElseThrow().getName())
+                .containsExactly("drill.png", "plane.png", "vise.png");
+    }
+
+    @DisplayName("JUnit test for statement budgets of resumable upload endpoints")
+    @Test
+    public void shouldKeepUploadEndpointsWithinBudget() throws Exception {
+        String uploadId = uploadId(perform(0, post("/files/uploads").param("name", "manual.pdf").param("size", "3")));
+        perform(0, put("/files/uploads/" + uploadId + "/parts/0").content(new byte[]{4, 5, 6}),
+                MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        perform(0, get("/files/uploads/" + uploadId));
+        perform(1, post("/files/uploads/" + uploadId));
+
+        String abortedId = uploadId(perform(0, post("/files/uploads").param("name", "draft.pdf").param("size", "3")));
+        perform(0, delete("/files/uploads/" + abortedId));
+    }
+
+    private MvcResult perform(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        return perform(budget, request, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private MvcResult perform(int budget, MockHttpServletRequestBuilder request, String contentType) throws Exception {
+        return perform(budget, request, contentType, false);
+    }
+
+    private MvcResult performAsync(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        return perform(budget, request, MediaType.APPLICATION_JSON_VALUE, true);
+    }
+
+    private MvcResult perform(int budget, MockHttpServletRequestBuilder request, String contentType, boolean async)
+            throws Exception {
+        MvcResult result;
+        int statements;
+        StatementCounter.start(async);
+        try {
+            result = mockMvc.perform(request
+                            .contentType(contentType)
+                            .header(HttpHeaders.AUTHORIZATION, "Master " + token))
+                    .andReturn();
+            if (result.getRequest().isAsyncStarted()) {
+                result.getAsyncResult();
+                result = mockMvc.perform(asyncDispatch(result)).andReturn();
+            }
+        } finally {
+            statements = StatementCounter.stop();
+        }
+        String endpoint = name((HandlerMethod) result.getHandler());
+        measured.put(endpoint, statements);
+        assertThat(result.getResponse().getStatus()).as(endpoint).isLessThan(400);
+        assertThat(statements).as(endpoint + " statements").isLessThanOrEqualTo(budget);
+        return result;
+    }
+
+    private Long id(MvcResult result) throws Exception {
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return body.get("id").asLong();
+    }
+
+    private String uploadId(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("uploadId").asText();
+    }
+
+    private List<Long> ancestorIds(Long id) {
+        return categoryClosureRepository.findAll().stream()
+                .filter(closure -> closure.getDescendantId().equals(id))
+                .map(CategoryClosure::getAncestorId)
+                .collect(Collectors.toList());
+    }
+
+    private static <T extends IdHolder> Long lastId(List<T> entities) {
+        return last(entities).getId();
+    }
+
+    private static <T extends IdHolder> T last(List<T> entities) {
+        return entities.stream().max(Comparator.comparing(IdHolder::getId)).orElseThrow();
+    }
+
+    private static String product(String name) {
+        return "{\"name\": \"" + name + "\", \"codeUnit\": \"B" + name.length() + "\", \"isActive\": true, "
+                + "\"maxPrice\": 900, \"price\": 800, \"categoryId\": 10, \"featureKeysId\": [20, 24]}";
+    }
+
+    private static String user(String email) {
+        return "{\"firstName\": \"Budget\", \"lastName\": \"Check\", \"email\": \"" + email + "\", "
+                + "\"password\": \"" + PASSWORD + "\"}";
+    }
+
+    private static String name(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "#" + handler.getMethod().getName();
+    }
+
+    @TestConfiguration
+    static class BudgetConfiguration {
+
+        @Bean
+        public FlywayConfigurationCustomizer h2Migrations() {
+            return configuration -> configuration.resourceProvider(new H2Migrations());
+        }
+
+        @Bean
+        public static BeanPostProcessor statementCounter() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? StatementCounter.wrap((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+}
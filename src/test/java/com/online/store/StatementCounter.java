@@ -0,0 +1,106 @@
+package com.online.store;
+
+import com.online.store.entity.PooledIdGenerator;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+public final class StatementCounter {
+
+    private static final Set<String> PREPARING = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTING = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch");
+    private static final ThreadLocal<Boolean> INHERITED = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> COUNT = new InheritableThreadLocal<>() {
+        @Override
+        protected int[] childValue(int[] parentValue) {
+            return Boolean.TRUE.equals(INHERITED.get()) ? parentValue : null;
+        }
+    };
+
+    private StatementCounter() {
+    }
+
+    public static void start() {
+        start(false);
+    }
+
+    public static void start(boolean inherited) {
+        COUNT.set(new int[1]);
+        INHERITED.set(inherited);
+    }
+
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        INHERITED.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return counting(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return counting(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            if (PREPARING.contains(method.getName()) && !isIdAllocation((String) args[0])) {
+                increment();
+            }
+            Object result = invoke(connection, method, args);
+            return "createStatement".equals(method.getName()) ? counting((Statement) result) : result;
+        });
+    }
+
+    private static Statement counting(Statement statement) {
+        return proxy(Statement.class, statement, (proxy, method, args) -> {
+            if (EXECUTING.contains(method.getName())
+                    && (args == null || args.length == 0 || !isIdAllocation((String) args[0]))) {
+                increment();
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static boolean isIdAllocation(String sql) {
+        return sql != null && sql.contains(PooledIdGenerator.TABLE);
+    }
+
+    private static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+}
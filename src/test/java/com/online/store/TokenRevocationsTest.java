@@ -0,0 +1,43 @@
+package com.online.store;
+
+import com.online.store.repository.TokenRevocationRepository;
+import com.online.store.seсurity.TokenRevocations;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationsTest {
+
+    private static final Long USER_ID = 3L;
+
+    @InjectMocks
+    private TokenRevocations tokenRevocations;
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+
+    @DisplayName("JUnit test for revoking a token issued in the same second as the revocation")
+    @Test
+    public void shouldRevokeTokenIssuedInSameSecond() {
+        Instant issued = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        tokenRevocations.revoke(USER_ID);
+        Instant revoked = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        assertThat(tokenRevocations.isRevoked(USER_ID, Date.from(issued))).isTrue();
+        assertThat(tokenRevocations.isRevoked(USER_ID, Date.from(revoked))).isTrue();
+        assertThat(tokenRevocations.isRevoked(USER_ID, Date.from(revoked.plusSeconds(1)))).isFalse();
+        assertThat(tokenRevocations.isRevoked(4L, Date.from(issued))).isFalse();
+    }
+
+}
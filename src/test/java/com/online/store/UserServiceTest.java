@@ -1,5 +1,6 @@
 package com.online.store;
 
+import com.online.store.cache.RoleReferences;
 import com.online.store.dto.request.UserLoginRequest;
 import com.online.store.dto.request.UserRequest;
 import com.online.store.dto.response.UserLoginResponse;
@@ -10,12 +11,12 @@ import com.online.store.entity.enums.Role;
 import com.online.store.exception.AlreadyExistException;
 import com.online.store.exception.NotFoundException;
 import com.online.store.repository.ProductRepository;
-import com.online.store.repository.RoleRepository;
 import com.online.store.repository.UserRepository;
 import com.online.store.service.UserService;
 import com.online.store.service.impl.UserDetailsImpl;
 import com.online.store.service.impl.UserServiceImpl;
 import com.online.store.seсurity.JwtUtils;
+import com.online.store.seсurity.TokenRevocations;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -52,12 +53,14 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private RoleRepository roleRepository;
+    private RoleReferences roleReferences;
     @Mock
     private ProductRepository productRepository;
     @Mock
     private JwtUtils jwtUtils;
     @Mock
+    private TokenRevocations tokenRevocations;
+    @Mock
     private AuthenticationManager authenticationManager;
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -126,8 +129,8 @@ public class UserServiceTest {
     @Test
     public void shouldSaveUserSuccessFully() {
 
-        when(userRepository.findUserByEmail(userRequest.getEmail())).thenReturn(Optional.empty());
-        when(roleRepository.findByRole(Role.CUSTOMER)).thenReturn(Optional.of(new Roles(Role.CUSTOMER)));
+        when(userRepository.existsByEmail(userRequest.getEmail())).thenReturn(false);
+        when(roleReferences.get(Role.CUSTOMER)).thenReturn(new Roles(Role.CUSTOMER));
 
         UserResponse savedUser = userService.createUser(userRequest);
 
@@ -140,7 +143,7 @@ public class UserServiceTest {
     @Test
     public void shouldThrowsExceptionWhenSaveUserWithExistingEmail() {
 
-        when(userRepository.findUserByEmail(userRequest.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.existsByEmail(userRequest.getEmail())).thenReturn(true);
         Exception exception = assertThrows(AlreadyExistException.class, () -> userService.createUser(userRequest));
 
         verify(userRepository, never()).save(any(User.class));